@@ -1,14 +1,37 @@
 package com.guicedee.cerial;
 
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Registry to keep track of active CerialPortConnection instances for health reporting.
+ * <p>
+ * Also opens groups of connections concurrently through {@link #connectAll(Collection, int)}; while a
+ * group is still connecting, {@link CerialStartupCheck} reports DOWN so that startup is not signalled
+ * before every port in the group has been tried.
  */
 public class CerialConnectionRegistry {
+    /**
+     * The number of ports {@link #connectAll(Collection)} opens at the same time.
+     */
+    public static final int DEFAULT_CONNECT_PARALLELISM = 8;
+
     private static final Set<CerialPortConnection<?>> activeConnections = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private static final AtomicInteger connectingGroups = new AtomicInteger();
+    private static final AtomicInteger connectThreads = new AtomicInteger();
+
+    private record PendingConnect(CerialPortConnection<?> connection, Promise<CerialPortConnection<?>> promise) {
+    }
 
     /**
      * Creates a new connection registry instance.
@@ -42,4 +65,85 @@ public class CerialConnectionRegistry {
     public static Set<CerialPortConnection<?>> getActiveConnections() {
         return Collections.unmodifiableSet(activeConnections);
     }
+
+    /**
+     * Opens a group of connections, {@link #DEFAULT_CONNECT_PARALLELISM} at a time.
+     *
+     * @param connections The connections to open.
+     * @return A future completed once every connection has been tried.
+     * @see #connectAll(Collection, int)
+     */
+    public static Future<CompositeFuture> connectAll(Collection<? extends CerialPortConnection<?>> connections) {
+        return connectAll(connections, DEFAULT_CONNECT_PARALLELISM);
+    }
+
+    /**
+     * Opens a group of connections concurrently, so the group takes about as long as its slowest port
+     * rather than the sum of all of them.
+     * <p>
+     * At most {@code parallelism} ports are opened at the same time, each by {@link CerialPortConnection#connect()}
+     * on a short-lived platform thread, as the native open may block. The returned future never fails: it
+     * completes once every connection has been tried, and entry {@code i} of the composite has succeeded if
+     * the {@code i}th connection is open, or failed with the reason it is not. Ports that failed to open
+     * keep retrying through their own reconnect schedule. Until the future completes,
+     * {@link #isConnecting()} is true and the startup check reports DOWN.
+     *
+     * @param connections The connections to open, in the order their results appear in the composite.
+     * @param parallelism The maximum number of ports opened at the same time.
+     * @return A future completed with the per-connection results once every connection has been tried.
+     */
+    public static Future<CompositeFuture> connectAll(Collection<? extends CerialPortConnection<?>> connections, int parallelism) {
+        ConcurrentLinkedQueue<PendingConnect> pending = new ConcurrentLinkedQueue<>();
+        List<Future<CerialPortConnection<?>>> results = new ArrayList<>(connections.size());
+        for (CerialPortConnection<?> connection : connections) {
+            Promise<CerialPortConnection<?>> promise = Promise.promise();
+            pending.add(new PendingConnect(connection, promise));
+            results.add(promise.future());
+        }
+        if (pending.isEmpty()) {
+            return Future.join(results);
+        }
+
+        connectingGroups.incrementAndGet();
+        Future<CompositeFuture> group = Future.join(results);
+        group.onComplete(done -> connectingGroups.decrementAndGet());
+
+        int workers = Math.min(Math.max(1, parallelism), pending.size());
+        for (int i = 0; i < workers; i++) {
+            Thread.ofPlatform()
+                  .name("cerial-connect-" + connectThreads.incrementAndGet())
+                  .daemon(true)
+                  .start(() -> {
+                      PendingConnect next;
+                      while ((next = pending.poll()) != null) {
+                          connect(next);
+                      }
+                  });
+        }
+        return group;
+    }
+
+    private static void connect(PendingConnect pending) {
+        CerialPortConnection<?> connection = pending.connection();
+        try {
+            connection.connect();
+            if (connection.getConnectionPort() != null && connection.getConnectionPort().isOpen()) {
+                pending.promise().tryComplete(connection);
+            } else {
+                pending.promise().tryFail(new SerialPortException("Port '" + connection.getComPortName()
+                        + "' did not open - " + connection.getComPortStatus()));
+            }
+        } catch (Throwable t) {
+            pending.promise().tryFail(t);
+        }
+    }
+
+    /**
+     * Indicates whether a group started by {@link #connectAll(Collection, int)} is still connecting.
+     *
+     * @return true until every connection in every group has been tried
+     */
+    public static boolean isConnecting() {
+        return connectingGroups.get() > 0;
+    }
 }
@@ -0,0 +1,61 @@
+package com.guicedee.cerial;
+
+import java.util.ServiceLoader;
+import java.util.function.Consumer;
+
+/**
+ * Service contract for byte-level frame decoders used by binary serial protocols.
+ * <p>
+ * A decoder receives raw bytes exactly as read from the port - no character conversion and no NUL
+ * stripping - and hands each complete frame to a sink. Decoders keep their partial-frame state between
+ * calls, so a single instance belongs to a single connection.
+ * <p>
+ * Implementations are discovered with {@link ServiceLoader} (declare them with {@code provides} in
+ * {@code module-info} or in {@code META-INF/services}) and selected per connection by {@link #name()}:
+ * <pre>
+ * connection.setFrameDecoder("cobs");
+ * </pre>
+ * The module ships {@code length-prefixed}, {@code stx-etx}, {@code slip} and {@code cobs} decoders.
+ */
+public interface CerialFrameDecoder
+{
+    /**
+     * Returns the name used to select this decoder.
+     *
+     * @return the decoder name, compared case-insensitively
+     */
+    String name();
+
+    /**
+     * Consumes received bytes, emitting every frame they complete.
+     *
+     * @param data   the buffer holding the received bytes
+     * @param offset the index of the first byte to decode
+     * @param length the number of bytes to decode
+     * @param frames the sink receiving each decoded frame; the array is owned by the sink
+     */
+    void decode(byte[] data, int offset, int length, Consumer<byte[]> frames);
+
+    /**
+     * Discards any partially decoded frame.
+     */
+    void reset();
+
+    /**
+     * Creates a new decoder instance for the given name from the registered service providers.
+     *
+     * @param name the decoder name
+     * @return a fresh decoder instance
+     * @throws SerialPortException if no decoder is registered under that name
+     */
+    static CerialFrameDecoder load(String name)
+    {
+        return ServiceLoader.load(CerialFrameDecoder.class)
+                            .stream()
+                            .map(ServiceLoader.Provider::get)
+                            .filter(decoder -> decoder.name()
+                                                      .equalsIgnoreCase(name))
+                            .findFirst()
+                            .orElseThrow(() -> new SerialPortException("No CerialFrameDecoder registered with name '" + name + "'"));
+    }
+}
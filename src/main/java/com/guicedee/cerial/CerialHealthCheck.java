@@ -9,6 +9,7 @@ import java.util.Set;
 /**
  * Health check for Cerial connections.
  * Reports UP if all active connections are in a healthy state, DOWN otherwise.
+ * Groups of ports still being opened are reported by {@link CerialStartupCheck}.
  */
 @Liveness
 @Readiness
@@ -39,6 +40,9 @@ public class CerialHealthCheck implements HealthCheck {
             String portName = "COM" + connection.getComPort();
             ComPortStatus status = connection.getComPortStatus();
             builder.withData(portName, status.name());
+            builder.withData(portName + ".queueDepth", connection.getInboundQueueDepth());
+            builder.withData(portName + ".droppedFrames", connection.getInboundDroppedFrames());
+            builder.withData(portName + ".lineErrors", connection.getLineErrorCount());
 
             // Define which statuses are considered "UP" for health check
             if (status == ComPortStatus.Offline || 
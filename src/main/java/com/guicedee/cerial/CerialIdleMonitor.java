@@ -3,12 +3,13 @@ package com.guicedee.cerial;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.guicedee.cerial.enumerations.ComPortStatus;
 import com.guicedee.client.IGuiceContext;
+import com.guicedee.cerial.implementations.CerialTimingWheel;
 import io.vertx.core.Vertx;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.java.Log;
 
-import java.time.LocalDateTime;
 import java.util.concurrent.TimeUnit;
 
 import static com.guicedee.cerial.enumerations.ComPortStatus.Silent;
@@ -17,9 +18,12 @@ import static com.guicedee.cerial.enumerations.ComPortStatus.exceptionOperations
 /**
  * Monitors a serial port connection for idle time and updates its status accordingly.
  * <p>
- * This class uses a Vert.x periodic timer to check if a serial port connection has been
- * idle for a specified period of time. If the connection has been idle for longer than
- * the specified time, its status is updated to {@link ComPortStatus#Silent}.
+ * All monitors share one idle scanner: a coarse {@link CerialTimingWheel} with a one second tick on its
+ * own daemon thread. Each monitor keeps a single timeout at the moment its connection would become idle;
+ * when it fires, the monitor looks at the time of the last message and either reschedules for the new
+ * deadline or, if the connection really has been quiet for the specified time, updates its status to
+ * {@link ComPortStatus#Silent} on the Vert.x context. Traffic never touches the scanner, and each tick
+ * only costs the monitors that expire in it, so thousands of ports need no per-port timers.
  * <p>
  * The monitor can be started with the {@link #begin()} method and stopped with the
  * {@link #end()} method.
@@ -36,7 +40,12 @@ public class CerialIdleMonitor
     /** The initial delay in seconds before the monitor starts checking for idle time. */
     private int initialDelay;
 
-    /** The period in seconds between checks for idle time. */
+    /**
+     * The period in seconds between checks for idle time.
+     *
+     * @deprecated idle checks are scheduled at each connection's own deadline; retained for compatibility.
+     */
+    @Deprecated
     private int period;
 
     /** The number of seconds after which a connection is considered idle. */
@@ -45,8 +54,33 @@ public class CerialIdleMonitor
     /** The previous status of the connection. */
     private ComPortStatus previousStatus;
 
-    /** The ID of the Vert.x timer used for monitoring. */
-    private long timerId;
+    /** The pending idle check on the shared scanner, or null when stopped. */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private volatile CerialTimingWheel.Timeout timeout;
+
+    /** Whether the monitor is between {@link #begin()} and {@link #end()}. */
+    @Setter(AccessLevel.NONE)
+    private volatile boolean running;
+
+    /**
+     * Incremented by every {@link #begin()} and {@link #end()}. Each scheduled check carries the generation it
+     * was scheduled under and does nothing once that has moved on, so a check still running when the monitor
+     * is restarted cannot reschedule itself next to the new one.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile int generation;
+
+    /** The {@link System#nanoTime()} at which monitoring began. */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile long startedNanos;
+
+    private static final class ScannerHolder
+    {
+        private static final CerialTimingWheel SCANNER = new CerialTimingWheel("cerial-idle-scanner", TimeUnit.SECONDS.toNanos(1), 512);
+    }
 
     /**
      * Creates a new idle monitor for the specified connection with default settings.
@@ -86,29 +120,96 @@ public class CerialIdleMonitor
         this.seconds = seconds;
     }
 
+    /**
+     * Returns the scanner shared by all idle monitors.
+     *
+     * @return the idle scanner wheel
+     */
+    public static CerialTimingWheel scanner()
+    {
+        return ScannerHolder.SCANNER;
+    }
+
     /**
      * Starts the idle monitor.
      * <p>
-     * This method sets up a periodic timer using Vert.x to check if the connection
-     * has been idle for longer than the specified time. If it has, the connection's
-     * status is updated to {@link ComPortStatus#Silent}.
+     * The first check is scheduled on the shared idle scanner for the initial delay plus the idle time.
+     * Whenever the connection is found to have been quiet for the specified time, its status is updated
+     * to {@link ComPortStatus#Silent}.
      */
-    public void begin()
+    public synchronized void begin()
+    {
+        end();
+        startedNanos = System.nanoTime();
+        running = true;
+        schedule(generation, TimeUnit.SECONDS.toNanos(Math.max(0, initialDelay) + Math.max(1, seconds)));
+    }
+
+    private synchronized void schedule(int scheduledGeneration, long delayNanos)
     {
-        var vertx = IGuiceContext.get(Vertx.class);
-        timerId = vertx.setPeriodic(TimeUnit.SECONDS.toMillis(period), (handler) -> {
-            if (!exceptionOperations.contains(connection.getComPortStatus()) &&
-                    (connection.getComPortStatus() != Silent &&
-                            ComPortStatus.onlineServerStatus.contains(connection.getComPortStatus())) &&
-                    (connection.getLastMessageTime() == null || connection.getLastMessageTime()
-                            .isBefore(LocalDateTime.now()
-                                    .minusSeconds(seconds))
-
-                    ))
-            {
-                connection.setComPortStatus(ComPortStatus.Silent);
-            }
-        });
+        if (scheduledGeneration != generation)
+        {
+            // the monitor was ended or restarted while the check ran
+            return;
+        }
+        timeout = scanner().schedule(() -> check(scheduledGeneration), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs on the scanner thread when the connection's idle deadline passes.
+     *
+     * @param scheduledGeneration the generation the check was scheduled under
+     */
+    private void check(int scheduledGeneration)
+    {
+        if (scheduledGeneration != generation)
+        {
+            return;
+        }
+        long idleNanos = TimeUnit.SECONDS.toNanos(Math.max(1, seconds));
+        long remaining = idleNanos - quietNanos();
+        if (remaining > 0)
+        {
+            schedule(scheduledGeneration, remaining);
+            return;
+        }
+        try
+        {
+            IGuiceContext.get(Vertx.class)
+                         .runOnContext(v -> markSilent());
+        }
+        catch (Throwable t)
+        {
+            log.fine(() -> "Unable to update idle status: " + t.getMessage());
+        }
+        schedule(scheduledGeneration, idleNanos);
+    }
+
+    /**
+     * Returns how long the connection has been quiet: since its last traffic in either direction, or
+     * since monitoring began if that is more recent.
+     */
+    private long quietNanos()
+    {
+        long now = System.nanoTime();
+        long last = connection.getLastActivityNanos();
+        if (last == 0 || last - startedNanos < 0)
+        {
+            return now - startedNanos;
+        }
+        return now - last;
+    }
+
+    private void markSilent()
+    {
+        ComPortStatus status = connection.getComPortStatus();
+        if (!exceptionOperations.contains(status) &&
+                status != Silent &&
+                ComPortStatus.onlineServerStatus.contains(status) &&
+                quietNanos() >= TimeUnit.SECONDS.toNanos(seconds))
+        {
+            connection.setComPortStatus(ComPortStatus.Silent);
+        }
     }
 
     /**
@@ -127,28 +228,18 @@ public class CerialIdleMonitor
     /**
      * Stops the idle monitor.
      * <p>
-     * This method cancels the Vert.x timer used for monitoring.
+     * This method cancels the pending idle check on the shared scanner.
      */
-    public void end()
+    public synchronized void end()
     {
-        if (timerId == 0L)
-        {
-            // Monitor was never started (or already stopped) - nothing to cancel.
-            return;
-        }
-        try
-        {
-            var vertx = IGuiceContext.get(Vertx.class);
-            vertx.cancelTimer(timerId);
-        }
-        catch (Throwable t)
-        {
-            // Never let idle-monitor teardown block shutdown.
-            log.fine(() -> "Failed to cancel idle monitor timer: " + t.getMessage());
-        }
-        finally
+        generation++;
+        running = false;
+        CerialTimingWheel.Timeout pending = timeout;
+        timeout = null;
+        if (pending != null)
         {
-            timerId = 0L;
+            // Cancelling only flags the timeout; the scanner drops it when its bucket comes round.
+            pending.cancel();
         }
     }
 
@@ -8,33 +8,64 @@ import com.fazecast.jSerialComm.SerialPort;
 import com.fazecast.jSerialComm.SerialPortDataListener;
 import com.google.common.base.Strings;
 import com.guicedee.cerial.enumerations.*;
+import com.guicedee.cerial.implementations.CerialByteChannel;
+import com.guicedee.cerial.implementations.CerialDispatcher;
+import com.guicedee.cerial.implementations.CerialFramePublisher;
+import com.guicedee.cerial.implementations.CerialLineErrorEvent;
+import com.guicedee.cerial.implementations.CerialReconnectEvent;
+import com.guicedee.cerial.implementations.CerialReadStream;
+import com.guicedee.cerial.implementations.CerialRequestCorrelator;
+import com.guicedee.cerial.implementations.CerialStatusChangeEvent;
+import com.guicedee.cerial.implementations.CerialTelemetry;
+import com.guicedee.cerial.implementations.CerialLineErrorPolicy;
+import com.guicedee.cerial.implementations.CerialTimingWheel;
+import com.guicedee.cerial.implementations.CerialTokenBucket;
+import com.guicedee.cerial.implementations.CerialTrafficLogger;
+import com.guicedee.cerial.implementations.CerialWriteEvent;
+import com.guicedee.cerial.implementations.CerialWriteQueue;
 import com.guicedee.cerial.implementations.ComPortEvents;
+import com.guicedee.cerial.implementations.DataSerialPortBytesListener;
 import com.guicedee.cerial.implementations.DataSerialPortMessageListener;
 import com.guicedee.telemetry.annotations.SpanAttribute;
 import com.guicedee.telemetry.annotations.Trace;
-import com.guicedee.telemetry.implementations.OpenTelemetrySDKConfigurator;
-import io.opentelemetry.api.common.AttributeKey;
-import io.opentelemetry.api.common.Attributes;
-import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.trace.Span;
 import com.guicedee.client.IGuiceContext;
 import com.guicedee.client.services.lifecycle.IGuicePreDestroy;
 import com.guicedee.client.utils.LogUtils;
 import com.guicedee.modules.services.jsonrepresentation.IJsonRepresentation;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import org.apache.commons.lang3.function.TriConsumer;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.text.NumberFormat;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
@@ -98,6 +129,11 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
    */
   public static NumberFormat portNumberFormat = NumberFormat.getNumberInstance();
 
+  private static final int MAX_WRITE_CHUNK = 4096;
+  private static final long MAX_MAP_WINDOW = 64L * 1024 * 1024;
+  private static final byte XON = 0x11;
+  private static final byte XOFF = 0x13;
+
   /**
    * Logger for this connection.
    */
@@ -112,35 +148,6 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
     portNumberFormat.setMaximumIntegerDigits(3);
   }
 
-  private static Object bytesWrittenCounter;
-  private static Object bytesReadCounter;
-
-  private static void initializeMetrics()
-  {
-    try
-    {
-      if (IGuiceContext.instance().getScanResult().getClassesImplementing(com.guicedee.client.services.lifecycle.IGuiceModule.class).loadClasses().stream().anyMatch(c -> c.getSimpleName().equals("TraceModule")))
-      {
-        bytesWrittenCounter = OpenTelemetrySDKConfigurator.getOpenTelemetry()
-                                                          .getMeter("com.guicedee.cerial")
-                                                          .counterBuilder("serial.bytes_written")
-                                                          .setDescription("Total bytes written to serial ports")
-                                                          .setUnit("bytes")
-                                                          .build();
-
-        bytesReadCounter = OpenTelemetrySDKConfigurator.getOpenTelemetry()
-                                                       .getMeter("com.guicedee.cerial")
-                                                       .counterBuilder("serial.bytes_read")
-                                                       .setDescription("Total bytes read from serial ports")
-                                                       .setUnit("bytes")
-                                                       .build();
-      }
-    }
-    catch (Throwable ignore)
-    {
-    }
-  }
-
   /**
    * Records bytes written to a serial port for telemetry.
    *
@@ -149,14 +156,8 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
    */
   public static void addBytesWritten(long bytes, String portName)
   {
-    if (bytesWrittenCounter == null)
-    {
-      initializeMetrics();
-    }
-    if (bytesWrittenCounter instanceof LongCounter)
-    {
-      ((LongCounter) bytesWrittenCounter).add(bytes, Attributes.of(AttributeKey.stringKey("serial.port"), portName));
-    }
+    CerialTelemetry.get()
+                   .bytesWritten(bytes, portName);
   }
 
   /**
@@ -167,14 +168,8 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
    */
   public static void addBytesRead(long bytes, String portName)
   {
-    if (bytesReadCounter == null)
-    {
-      initializeMetrics();
-    }
-    if (bytesReadCounter instanceof LongCounter)
-    {
-      ((LongCounter) bytesReadCounter).add(bytes, Attributes.of(AttributeKey.stringKey("serial.port"), portName));
-    }
+    CerialTelemetry.get()
+                   .bytesRead(bytes, portName);
   }
 
   /**
@@ -196,17 +191,34 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
   }
 
   /**
-   * Flag indicating if the output buffer is empty.
+   * Flag indicating if the output buffer is empty, cleared by each write and set when the port
+   * reports the written data has drained.
    */
   @JsonIgnore
   private final AtomicBoolean outputBufferEmpty = new AtomicBoolean(false);
 
   /**
-   * Flag indicating if the port is clear to send data.
+   * Flag indicating if the port is clear to send data, tracking the CTS line under RTS/CTS flow control.
    */
   @JsonIgnore
   private final AtomicBoolean clearToSend = new AtomicBoolean(false);
 
+  /** Guards {@link #flowChanged}; kept apart from the write lock so port events never wait on a writer. */
+  @JsonIgnore
+  private final ReentrantLock flowLock = new ReentrantLock();
+
+  /** Signalled when CTS is raised or the output buffer drains. */
+  @JsonIgnore
+  private final Condition flowChanged = flowLock.newCondition();
+
+  /** Callers of {@link #whenDrained()} waiting for the output buffer to empty. */
+  @JsonIgnore
+  private final ConcurrentLinkedQueue<Promise<Void>> drainWaiters = new ConcurrentLinkedQueue<>();
+
+  /** Set while a drain check is pending on the timing wheel. */
+  @JsonIgnore
+  private final AtomicBoolean drainCheckScheduled = new AtomicBoolean();
+
   /**
    * The COM port number (e.g., 1 for COM1).
    */
@@ -252,6 +264,26 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
    */
   private FlowType flow = FlowType.None;
 
+  /**
+   * How received frames are delivered to the read callback. Default is the Vert.x worker pool.
+   */
+  private DispatchMode dispatchMode = DispatchMode.Worker;
+
+  /**
+   * Maximum received frames waiting for the read callback. Default is 10000.
+   */
+  private int inboundQueueCapacity = 10_000;
+
+  /**
+   * What happens to received frames once the inbound queue is full. Default is to block the reader.
+   */
+  private OverflowPolicy overflowPolicy = OverflowPolicy.Block;
+
+  /**
+   * With {@link OverflowPolicy#Sample}, one in this many frames is admitted while the queue is full. Default is 10.
+   */
+  private int inboundSampleInterval = 10;
+
   /**
    * The buffer size for reading data. Default is 1024 bytes.
    */
@@ -263,10 +295,52 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
   private Integer idleTimerSeconds = 120;
 
 
-  /** The output stream for writing to the serial port. */
+  /** The output stream for writing to the serial port, by default the {@link #openChannel()} stream. */
   @JsonIgnore
   private OutputStream writer = null;
 
+  /**
+   * Which RX/TX messages are written to the port's log. Default is every message.
+   */
+  private TrafficLogging trafficLogging = TrafficLogging.Full;
+
+  /**
+   * Under {@link TrafficLogging#Sampled}, one in this many messages per direction is logged. Default is 100.
+   */
+  private int trafficSampleInterval = 100;
+
+  /**
+   * Number of line errors of one type within {@link #lineErrorWindowMillis} that disconnects and reconnects the
+   * port. Default is 10; 1 reconnects on every error.
+   */
+  private int lineErrorThreshold = 10;
+
+  /**
+   * Length, in milliseconds, of the sliding window line errors are counted in. Default is 5 seconds.
+   */
+  private long lineErrorWindowMillis = 5000;
+
+  /** Line error counters and escalation policy, created by the first line error or lookup. */
+  @JsonIgnore
+  private volatile CerialLineErrorPolicy lineErrorPolicy;
+
+  /** Asynchronous RX/TX log writer, created with the connection as it is used on every read and write. */
+  @JsonIgnore
+  private final CerialTrafficLogger trafficLogger = new CerialTrafficLogger(this);
+
+  /** Raw byte channel view of this connection, created on first use. */
+  @JsonIgnore
+  private CerialByteChannel channel;
+
+  /** Set while {@link #channel} reads the port directly in place of the data listener. */
+  @JsonIgnore
+  private volatile boolean rawRead;
+
+  /**
+   * How long, in milliseconds, a channel or stream read waits for data. Default is 1 second; 0 waits indefinitely.
+   */
+  private int channelReadTimeoutMillis = 1000;
+
   /** Callback invoked when the port status changes. */
   @JsonIgnore
   private BiConsumer<CerialPortConnection<?>, ComPortStatus> comPortStatusUpdate;
@@ -279,11 +353,109 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
   @JsonIgnore
   private CerialIdleMonitor monitor;
 
-  /** The timestamp of the last received message. */
-  private LocalDateTime lastMessageTime;
+  /**
+   * Ordered delivery of received frames to the read callback. Created with the connection, as the jSerialComm
+   * event thread and the timing wheel both dispatch frames and must share one mailbox.
+   */
+  @JsonIgnore
+  private final CerialDispatcher dispatcher = new CerialDispatcher(this);
+
+  /** Single-writer queue behind {@link #writeAsync(String)}, created on first use. */
+  @JsonIgnore
+  private CerialWriteQueue writeQueue;
+
+  /** Serialises native writes so concurrent messages never interleave. */
+  @JsonIgnore
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  /** The XON or XOFF byte still to be sent by {@link #throttleReceive(boolean)}, -1 if none. */
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final AtomicInteger pendingFlowByte = new AtomicInteger(-1);
+
+  /** Set while {@link #throttleReceive(boolean)} has suspended the driver's RTS flow control to hold RTS low. */
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private volatile int suspendedFlowControl = -1;
+
+  /** Reusable encode buffer for synchronous writes, guarded by {@link #writeLock}. */
+  @JsonIgnore
+  private byte[] writeScratch = new byte[256];
+
+  /**
+   * How long, in milliseconds, a write may make no progress (CTS low, output buffer full) before it fails. Default is 10 seconds.
+   */
+  private long writeStallTimeoutMillis = 10_000L;
+
+  /**
+   * Whether {@link #writeAsync(String, boolean...)} futures complete only once the output buffer has drained,
+   * rather than when the bytes are handed to the driver. Default is true.
+   */
+  private boolean completeWritesOnDrain = true;
+
+  /**
+   * Meters writes out at line rate so slow devices are not overrun. Default is off.
+   */
+  private boolean writePacing;
+
+  /**
+   * Bytes that may be written back to back while pacing, typically the device's receive FIFO size. Default is 16.
+   */
+  private int pacingBurstBytes = 16;
+
+  /**
+   * Pacing rate in bytes per second; 0 derives it from the baud rate, data bits, parity and stop bits.
+   */
+  private double pacingBytesPerSecond;
+
+  /**
+   * Idle line time in microseconds held after each write while pacing. Default is 0.
+   */
+  private long interFrameGapMicros;
+
+  /** Pacing token bucket, guarded by {@link #writeLock}. */
+  @JsonIgnore
+  private CerialTokenBucket pacer;
+
+  /** {@link #endOfMessage} encoded for writing, computed on first use. */
+  @JsonIgnore
+  private byte[] terminatorBytes;
+
+  /**
+   * Matches replies to {@link #request(byte[], Predicate, Duration)} calls, created by the first request.
+   * Null until then, so received frames skip correlation on connections that never send requests.
+   */
+  @JsonIgnore
+  private volatile CerialRequestCorrelator requestCorrelator;
+
+  /**
+   * Requests that may await their replies at the same time. Default is 1, one command at a time.
+   */
+  private int maxInFlightRequests = 1;
+
+  /** Reactive view of received frames, created on first use. */
+  @JsonIgnore
+  private CerialReadStream readStream;
+
+  /** The single {@link java.util.concurrent.Flow.Publisher} over {@link #readStream}, created on first use. */
+  @JsonIgnore
+  private CerialFramePublisher framePublisher;
+
+  /** The {@link System#nanoTime()} of the last data received, 0 if none yet. */
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private volatile long lastRxNanos;
 
-  /** The end-of-message delimiter characters. */
-  @Setter
+  /** The {@link System#nanoTime()} of the last completed write, 0 if none yet. */
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private volatile long lastTxNanos;
+
+  /** The end-of-message delimiter characters, also appended to written messages. */
   @Getter
   private char[] endOfMessage = new char[]{'\n'};
 		
@@ -422,6 +594,169 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
     return monitor;
   }
 
+  /**
+   * Gets the dispatcher that delivers received frames to the read callback.
+   *
+   * @return the dispatcher for this connection
+   */
+  public CerialDispatcher getDispatcher()
+  {
+    return dispatcher;
+  }
+
+  /**
+   * Returns the number of received frames waiting to be delivered to the read callback.
+   *
+   * @return the inbound queue depth
+   */
+  public int getInboundQueueDepth()
+  {
+    return dispatcher.getQueueDepth();
+  }
+
+  /**
+   * Returns the number of received frames discarded because the inbound queue was full.
+   *
+   * @return the dropped frame count
+   */
+  public long getInboundDroppedFrames()
+  {
+    return dispatcher.getDroppedFrames();
+  }
+
+  /**
+   * Returns the received frames as a Vert.x {@link io.vertx.core.streams.ReadStream}.
+   * <p>
+   * The stream is created on first call and delivers on the calling Vert.x context. It honours
+   * pause/resume/fetch, throttling the remote device through {@link #throttleReceive(boolean)} while
+   * frames back up, and runs alongside the read callback rather than replacing it.
+   *
+   * @return the read stream of this connection
+   */
+  public synchronized CerialReadStream readStream()
+  {
+    if (readStream == null)
+    {
+      readStream = new CerialReadStream(this, IGuiceContext.get(Vertx.class).getOrCreateContext());
+    }
+    return readStream;
+  }
+
+  /**
+   * Returns the received frames as a {@link java.util.concurrent.Flow.Publisher}, with subscriber demand
+   * applied to the {@link #readStream()}.
+   * <p>
+   * The publisher is created once per connection, so every caller shares it and its one-subscriber limit.
+   *
+   * @return the unicast publisher of received frames
+   */
+  public synchronized CerialFramePublisher framePublisher()
+  {
+    if (framePublisher == null)
+    {
+      framePublisher = new CerialFramePublisher(readStream());
+    }
+    return framePublisher;
+  }
+
+  /**
+   * Asks the remote device to stop or resume sending using the configured flow type: RTS is dropped
+   * or raised for {@link FlowType#RTSCTS}, XOFF or XON is sent for {@link FlowType#XONXOFF}. Without
+   * flow control this does nothing.
+   * <p>
+   * XON and XOFF are written under the write lock so they never land inside a frame being sent; if a
+   * write is in progress the byte is sent from a virtual thread once it finishes, and only the latest
+   * request is sent. When the driver's own RTS flow control is enabled ({@link #setRts()}) it is switched
+   * off while RTS is held low by hand and restored on release.
+   *
+   * @param hold true to stop the remote device sending, false to let it resume
+   * @return this connection for method chaining
+   */
+  public J throttleReceive(boolean hold)
+  {
+    if (connectionPort == null || !connectionPort.isOpen())
+    {
+      return (J) this;
+    }
+    switch (flow)
+    {
+      case RTSCTS -> holdRts(hold);
+      case XONXOFF ->
+      {
+        pendingFlowByte.set(hold ? XOFF : XON);
+        if (writeLock.tryLock())
+        {
+          try
+          {
+            sendPendingFlowByte();
+          }
+          finally
+          {
+            writeLock.unlock();
+          }
+        }
+        else
+        {
+          Thread.ofVirtual()
+                .name("cerial-flow-" + getComPort())
+                .start(() -> {
+                  writeLock.lock();
+                  try
+                  {
+                    sendPendingFlowByte();
+                  }
+                  finally
+                  {
+                    writeLock.unlock();
+                  }
+                });
+        }
+      }
+      default ->
+      {
+        return (J) this;
+      }
+    }
+    getLog().debug("🔄 {} remote transmitter on '{}'", hold ? "Holding" : "Releasing", getComPortName());
+    return (J) this;
+  }
+
+  private synchronized void holdRts(boolean hold)
+  {
+    if (hold)
+    {
+      int settings = connectionPort.getFlowControlSettings();
+      if ((settings & SerialPort.FLOW_CONTROL_RTS_ENABLED) != 0 && suspendedFlowControl < 0)
+      {
+        // the driver would raise RTS again while its input buffer has room
+        suspendedFlowControl = settings;
+        connectionPort.setFlowControl(settings & ~SerialPort.FLOW_CONTROL_RTS_ENABLED);
+      }
+      connectionPort.clearRTS();
+    }
+    else
+    {
+      connectionPort.setRTS();
+      if (suspendedFlowControl >= 0)
+      {
+        connectionPort.setFlowControl(suspendedFlowControl);
+        suspendedFlowControl = -1;
+      }
+    }
+  }
+
+  /**
+   * Writes the XON or XOFF byte requested by {@link #throttleReceive(boolean)}, if any. Requires {@link #writeLock}.
+   */
+  private void sendPendingFlowByte()
+  {
+    int flowByte = pendingFlowByte.getAndSet(-1);
+    if (flowByte >= 0 && connectionPort != null && connectionPort.isOpen())
+    {
+      connectionPort.writeBytes(new byte[]{(byte) flowByte}, 1);
+    }
+  }
+
   /**
    * Connects to the serial port.
    * <p>
@@ -566,11 +901,24 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
     Vertx vertx = IGuiceContext.get(Vertx.class);
     reconnectTimerId = vertx.setTimer(delaySeconds * 1000L, id -> {
       reconnectTimerId = -1L;
+      CerialReconnectEvent event = new CerialReconnectEvent();
+      event.begin();
+      int attempt = reconnectAttempts;
       try
       {
         getLog().info("🔌 Attempting reconnect to '{}' (attempt {})", getComPortName(), reconnectAttempts);
-        connect();
-        if (connectionPort != null && connectionPort.isOpen())
+        try
+        {
+          connect();
+        }
+        catch (Throwable t)
+        {
+          event.finish(this, attempt, delaySeconds, reason, false);
+          throw t;
+        }
+        boolean connected = connectionPort != null && connectionPort.isOpen();
+        event.finish(this, attempt, delaySeconds, reason, connected);
+        if (connected)
         {
           getLog().info("✅ Reconnected to '{}'", getComPortName());
           resetReconnectBackoff();
@@ -616,7 +964,16 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
     setComPortStatus(Silent);
     getLog().debug("📋 Post-connect setup for '{}'", getComPortName());
     connectionPort.removeDataListener();
-    connectionPort.addDataListener(serialPortMessageListener);
+    if (rawRead)
+    {
+      applyRawRead();
+    }
+    else
+    {
+      connectionPort.addDataListener(serialPortMessageListener);
+    }
+    outputBufferEmpty.set(true);
+    clearToSend.set(flow != FlowType.RTSCTS || connectionPort.getCTS());
     if (flow != null && flow != FlowType.None)
     {
       switch (flow)
@@ -674,6 +1031,90 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
   }
 
 
+  /**
+   * Handles a line error reported by the serial driver: it is logged and counted in the
+   * {@code serial.line_errors} metric, and the port stays open unless the {@link #getLineErrorPolicy() line error
+   * policy} finds {@link #lineErrorThreshold} errors of the same type within {@link #lineErrorWindowMillis}, in
+   * which case it is handled as a connection error.
+   *
+   * @param type   the kind of line error
+   * @param detail the driver's event description
+   * @return this connection for method chaining
+   */
+  public J onLineError(LineErrorType type, String detail)
+  {
+    CerialTelemetry.get()
+                   .lineError(type, this);
+    CerialLineErrorEvent.emit(this, type, detail);
+    CerialLineErrorPolicy policy = getLineErrorPolicy();
+    if (!policy.record(type, System.nanoTime()))
+    {
+      getLog().warn("⚠️ {}: {}", type.getDescription(), detail);
+      return (J) this;
+    }
+    getLog().error("❌ {}: {} - {} errors within {}ms, reconnecting", type.getDescription(), detail,
+        policy.getThreshold(type), lineErrorWindowMillis);
+    return onConnectError(new SerialPortException(type.getDescription() + " - " + detail), ComPortStatus.GeneralException);
+  }
+
+  /**
+   * Gets the line error policy, which counts line errors by type and decides when they warrant a reconnect.
+   * Per-type thresholds may be set on it directly.
+   *
+   * @return the line error policy for this connection
+   */
+  public synchronized CerialLineErrorPolicy getLineErrorPolicy()
+  {
+    if (lineErrorPolicy == null)
+    {
+      lineErrorPolicy = new CerialLineErrorPolicy(lineErrorThreshold, TimeUnit.MILLISECONDS.toNanos(lineErrorWindowMillis));
+    }
+    return lineErrorPolicy;
+  }
+
+  /**
+   * Returns how many line errors have been recorded across all types, without creating the line error policy.
+   *
+   * @return the total line error count, 0 if none has been recorded
+   */
+  public long getLineErrorCount()
+  {
+    CerialLineErrorPolicy policy = lineErrorPolicy;
+    return policy == null ? 0 : policy.getTotal();
+  }
+
+  /**
+   * Sets how many line errors of one type within the window disconnect and reconnect the port.
+   *
+   * @param lineErrorThreshold the error count, at least 1
+   * @return this connection for method chaining
+   */
+  public synchronized @org.jspecify.annotations.NonNull J setLineErrorThreshold(int lineErrorThreshold)
+  {
+    this.lineErrorThreshold = lineErrorThreshold;
+    if (lineErrorPolicy != null)
+    {
+      lineErrorPolicy.configure(lineErrorThreshold, TimeUnit.MILLISECONDS.toNanos(lineErrorWindowMillis));
+    }
+    return (J) this;
+  }
+
+  /**
+   * Sets the length of the sliding window line errors are counted in.
+   *
+   * @param lineErrorWindowMillis the window in milliseconds
+   * @return this connection for method chaining
+   */
+  public synchronized @org.jspecify.annotations.NonNull J setLineErrorWindowMillis(long lineErrorWindowMillis)
+  {
+    this.lineErrorWindowMillis = lineErrorWindowMillis;
+    if (lineErrorPolicy != null)
+    {
+      lineErrorPolicy.configure(lineErrorThreshold, TimeUnit.MILLISECONDS.toNanos(lineErrorWindowMillis));
+    }
+    return (J) this;
+  }
+
   /**
    * Handles a connection error by notifying the error callback, disconnecting, and scheduling reconnect.
    *
@@ -697,6 +1138,10 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
     {
       monitor.end();
     }
+    if (readStream != null)
+    {
+      readStream.fail(e != null ? e : new SerialPortException(String.valueOf(status)));
+    }
     // Schedule reconnect with backoff
     scheduleReconnect(e != null ? String.valueOf(e.getMessage()) : String.valueOf(status));
     return (J) this;
@@ -723,6 +1168,10 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
    */
   public @org.jspecify.annotations.NonNull J setComPortStatus(ComPortStatus comPortStatus, boolean... update)
   {
+    if (this.comPortStatus != comPortStatus)
+    {
+      CerialStatusChangeEvent.emit(this, this.comPortStatus, comPortStatus);
+    }
     if (this.comPortStatus != comPortStatus && (
         (update != null && update.length == 0) ||
             (update != null && update[0]))
@@ -792,74 +1241,936 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
   }
 
   /**
-   * Returns the platform-specific COM port name (e.g., "COM1" on Windows, "/dev/ttyUSB0" on Linux).
+   * Returns the device name prefix that, followed by the port number, names a port on this platform:
+   * {@code COM} on Windows and {@code /dev/ttyUSB} elsewhere.
+   *
+   * @return the device name prefix
+   */
+  public static String devicePrefix()
+  {
+    return OSValidator.isWindows() ? "COM" : "/dev/ttyUSB";
+  }
+
+  /**
+   * Returns the platform-specific COM port name (e.g., "COM1" on Windows, "/dev/ttyUSB0" on Linux).
    *
    * @return the COM port name
    */
-  @JsonProperty
-  public String getComPortName()
+  @JsonProperty
+  public String getComPortName()
+  {
+    String name;
+    if (OSValidator.isWindows())
+    {
+      name = devicePrefix() + getComPort();
+    }
+    else
+    {
+      name = devicePrefix() + getComPort() + " " + getBaudRate().toInt();
+    }
+    if (getLog() != null && getLog().isDebugEnabled())
+    {
+      getLog().trace("📝 Computed port name: '{}'", name);
+    }
+    return name;
+  }
+
+  /**
+   * Writes a message to the serial port.
+   * <p>
+   * This method sends the specified message to the serial port, UTF-8 encoded. Unless
+   * {@code checkForEndOfCharacter} is given as {@code false}, the {@link #endOfMessage} terminator is
+   * appended when the message does not already end with it. The message is logged with the COM port
+   * number and the message content.
+   * <p>
+   * If the port is not open, the message is not sent and a trace log entry is made. A write that stalls under
+   * flow control for {@link #writeStallTimeoutMillis} is dropped with a warning; other failures are handled as
+   * connection errors.
+   *
+   * @param message                the message to send
+   * @param checkForEndOfCharacter optionally {@code false} to send the message without a terminator
+   */
+  public void write(String message, boolean... checkForEndOfCharacter)
+  {
+    if (connectionPort != null && connectionPort.isOpen())
+    {
+      if (!Strings.isNullOrEmpty(message))
+      {
+        writeLock.lock();
+        try
+        {
+          int length = encodeMessage(message, terminates(checkForEndOfCharacter));
+          transmit(writeScratch, 0, length);
+        }
+        catch (SerialWriteStalledException e)
+        {
+          // flow control held the line, the link itself is fine
+          getLog().warn("⚠️ Write dropped on '{}': {}", getComPortName(), e.getMessage());
+        }
+        catch (Throwable t)
+        {
+          getLog().error("❌ Write failed on '{}': {}", getComPortName(), t.getMessage(), t);
+          onConnectError(t, ComPortStatus.GeneralException);
+        }
+        finally
+        {
+          writeLock.unlock();
+        }
+      }
+    }
+    else
+    {
+      getLog().trace("⚠️ Message NOT sent - Port not open - Message: [{}]", message);
+    }
+  }
+
+  /**
+   * Writes bytes to the serial port exactly as given, without encoding or a terminator.
+   * <p>
+   * If the port is not open, the bytes are not sent and a trace log entry is made.
+   *
+   * @param data   the buffer holding the bytes
+   * @param offset the index of the first byte to send
+   * @param length the number of bytes to send
+   */
+  public void write(byte[] data, int offset, int length)
+  {
+    if (connectionPort != null && connectionPort.isOpen())
+    {
+      if (length > 0)
+      {
+        try
+        {
+          transmit(data, offset, length);
+        }
+        catch (SerialWriteStalledException e)
+        {
+          // flow control held the line, the link itself is fine
+          getLog().warn("⚠️ Write dropped on '{}': {}", getComPortName(), e.getMessage());
+        }
+        catch (Throwable t)
+        {
+          getLog().error("❌ Write failed on '{}': {}", getComPortName(), t.getMessage(), t);
+          onConnectError(t, ComPortStatus.GeneralException);
+        }
+      }
+    }
+    else
+    {
+      getLog().trace("⚠️ {} bytes NOT sent - Port not open", length);
+    }
+  }
+
+  /**
+   * Writes the remaining bytes of a buffer to the serial port exactly as given, advancing its position.
+   * <p>
+   * The buffer is sent with {@link #transmit(ByteBuffer)}. A failure is handled once as
+   * {@link #write(String, boolean...)} handles it, leaving the position after the bytes that were sent.
+   * If the port is not open, nothing is sent.
+   *
+   * @param buffer the buffer to send
+   */
+  public void write(ByteBuffer buffer)
+  {
+    if (!buffer.hasRemaining())
+    {
+      return;
+    }
+    if (connectionPort == null || !connectionPort.isOpen())
+    {
+      getLog().trace("⚠️ {} bytes NOT sent - Port not open", buffer.remaining());
+      return;
+    }
+    try
+    {
+      transmit(buffer);
+    }
+    catch (SerialWriteStalledException e)
+    {
+      // flow control held the line, the link itself is fine
+      getLog().warn("⚠️ Write dropped on '{}': {}", getComPortName(), e.getMessage());
+    }
+    catch (Throwable t)
+    {
+      getLog().error("❌ Write failed on '{}': {}", getComPortName(), t.getMessage(), t);
+      onConnectError(t, ComPortStatus.GeneralException);
+    }
+  }
+
+  /**
+   * Sends a file to the serial port exactly as stored, with no terminator appended.
+   *
+   * @param file the file to send
+   * @see #sendFile(Path, BiConsumer)
+   */
+  public void sendFile(Path file)
+  {
+    sendFile(file, null);
+  }
+
+  /**
+   * Sends a file to the serial port exactly as stored, with no terminator appended, for bulk payloads
+   * such as label jobs and firmware images.
+   * <p>
+   * The file is memory-mapped and copied to the port in chunks the size of the driver's output buffer,
+   * through the same write path as every other write, so flow control, the write stall timeout and
+   * pacing all apply. The write lock is held for the whole transfer so no other message is interleaved
+   * with the file. The port reports {@link ComPortStatus#FileTransfer} while sending and returns to its
+   * previous status afterwards. Runs on the calling thread; call it from a worker for large files.
+   *
+   * @param file     the file to send
+   * @param progress optionally called after each chunk with the bytes sent so far and the file size
+   * @throws SerialPortException if the port is not open, the file cannot be read or the write fails
+   */
+  public void sendFile(Path file, BiConsumer<Long, Long> progress)
+  {
+    if (connectionPort == null || !connectionPort.isOpen())
+    {
+      throw new SerialPortException("Port '" + getComPortName() + "' is not open");
+    }
+    writeLock.lock();
+    try
+    {
+      ComPortStatus previous = comPortStatus;
+      try
+      {
+        setComPortStatus(FileTransfer);
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+          long size = fileChannel.size();
+          int bufferSize = connectionPort.getDeviceWriteBufferSize();
+          byte[] chunk = new byte[(int) Math.max(1, Math.min(size, bufferSize > 0 ? Math.min(bufferSize, 65536) : MAX_WRITE_CHUNK))];
+          getLog().info("📤 Sending file '{}' ({} bytes) to '{}'", file.getFileName(), size, getComPortName());
+          long sent = 0;
+          while (sent < size)
+          {
+            MappedByteBuffer mapped = fileChannel.map(FileChannel.MapMode.READ_ONLY, sent, Math.min(size - sent, MAX_MAP_WINDOW));
+            while (mapped.hasRemaining())
+            {
+              int length = Math.min(mapped.remaining(), chunk.length);
+              mapped.get(chunk, 0, length);
+              transmit(chunk, 0, length);
+              sent += length;
+              if (progress != null)
+              {
+                progress.accept(sent, size);
+              }
+            }
+          }
+          getLog().info("✅ Sent file '{}' to '{}'", file.getFileName(), getComPortName());
+        }
+        catch (IOException e)
+        {
+          throw new SerialPortException("Unable to send file '" + file + "' to '" + getComPortName() + "' - " + e.getMessage(), e);
+        }
+      }
+      finally
+      {
+        if (comPortStatus == FileTransfer)
+        {
+          setComPortStatus(previous);
+        }
+      }
+    }
+    finally
+    {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Queues a message for writing without blocking the caller.
+   * <p>
+   * The message is encoded as {@link #write(String, boolean...)} would encode it and handed to this
+   * connection's {@link CerialWriteQueue}, which writes queued messages in order on a single worker,
+   * coalescing small ones into one native write.
+   *
+   * @param message                the message to send
+   * @param checkForEndOfCharacter optionally {@code false} to send the message without a terminator
+   * @return a future completed once the message has been written, or failed if the port is not open
+   * or the write fails
+   */
+  public Future<Void> writeAsync(String message, boolean... checkForEndOfCharacter)
+  {
+    if (Strings.isNullOrEmpty(message))
+    {
+      return Future.succeededFuture();
+    }
+    byte[] bytes = encodeOwned(message, terminates(checkForEndOfCharacter));
+    return getWriteQueue().enqueue(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Queues raw bytes for writing without blocking the caller.
+   *
+   * @param data the bytes to send, which must not be modified until the future completes
+   * @return a future completed once the bytes have been written, or failed if the port is not open or
+   * the write fails
+   */
+  public Future<Void> writeAsync(byte[] data)
+  {
+    return writeAsync(data, 0, data.length);
+  }
+
+  /**
+   * Queues a range of raw bytes for writing without blocking the caller.
+   *
+   * @param data   the buffer to send from, which must not be modified until the future completes
+   * @param offset the index of the first byte to send
+   * @param length the number of bytes to send
+   * @return a future completed once the bytes have been written, or failed if the port is not open or
+   * the write fails
+   */
+  public Future<Void> writeAsync(byte[] data, int offset, int length)
+  {
+    return getWriteQueue().enqueue(data, offset, length);
+  }
+
+  /**
+   * Queues the remaining bytes of a buffer for writing without blocking the caller. The bytes are
+   * copied, so the buffer may be reused as soon as this returns; its position is advanced to its limit.
+   *
+   * @param buffer the buffer to send
+   * @return a future completed once the bytes have been written, or failed if the port is not open or
+   * the write fails
+   */
+  public Future<Void> writeAsync(ByteBuffer buffer)
+  {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return writeAsync(bytes);
+  }
+
+  /**
+   * Sends a request and completes with the first received frame the matcher accepts.
+   * <p>
+   * Up to {@link #getMaxInFlightRequests()} requests may await replies at once; replies are offered to
+   * outstanding requests oldest first. A matched reply is consumed and does not reach the read callback.
+   *
+   * @param payload      the request bytes, sent exactly as given
+   * @param replyMatcher accepts the frame that answers this request
+   * @param timeout      how long to wait for the reply once the request is written
+   * @return a future completed with the reply, or failed on timeout, write failure or shutdown
+   */
+  public Future<byte[]> request(byte[] payload, Predicate<byte[]> replyMatcher, Duration timeout)
+  {
+    return requestCorrelator().request(payload, replyMatcher, timeout);
+  }
+
+  /**
+   * Sends a text command, encoded and terminated as {@link #write(String, boolean...)} would, and
+   * completes with the first received frame the matcher accepts.
+   *
+   * @param command      the command to send
+   * @param replyMatcher accepts the frame that answers this command
+   * @param timeout      how long to wait for the reply once the command is written
+   * @return a future completed with the reply, or failed on timeout, write failure or shutdown
+   */
+  public Future<byte[]> request(String command, Predicate<byte[]> replyMatcher, Duration timeout)
+  {
+    return request(encodeOwned(command, true), replyMatcher, timeout);
+  }
+
+  /**
+   * Gets the correlator that matches replies to requests, without creating it.
+   *
+   * @return the request correlator for this connection, or null if no request has been sent yet
+   */
+  public CerialRequestCorrelator getRequestCorrelator()
+  {
+    return requestCorrelator;
+  }
+
+  private synchronized CerialRequestCorrelator requestCorrelator()
+  {
+    if (requestCorrelator == null)
+    {
+      requestCorrelator = new CerialRequestCorrelator(this);
+    }
+    return requestCorrelator;
+  }
+
+  /**
+   * Sets how many requests may await their replies at the same time, for devices that pipeline commands.
+   *
+   * @param maxInFlightRequests the in-flight request window
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setMaxInFlightRequests(int maxInFlightRequests)
+  {
+    this.maxInFlightRequests = maxInFlightRequests;
+    return (J) this;
+  }
+
+  /**
+   * Gets the writer of this connection's RX/TX traffic log.
+   *
+   * @return the traffic logger for this connection
+   */
+  public CerialTrafficLogger getTrafficLogger()
+  {
+    return trafficLogger;
+  }
+
+  /**
+   * Sets which RX/TX messages are written to the port's log.
+   *
+   * @param trafficLogging the traffic logging policy
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setTrafficLogging(TrafficLogging trafficLogging)
+  {
+    this.trafficLogging = trafficLogging == null ? TrafficLogging.Off : trafficLogging;
+    return (J) this;
+  }
+
+  /**
+   * Sets how many messages per direction make up one logged sample under {@link TrafficLogging#Sampled}.
+   *
+   * @param trafficSampleInterval log one in this many messages
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setTrafficSampleInterval(int trafficSampleInterval)
+  {
+    this.trafficSampleInterval = trafficSampleInterval;
+    return (J) this;
+  }
+
+  /**
+   * Gets the raw byte channel view of this connection, for bulk transfers through NIO channels or
+   * {@code java.io} streams.
+   * <p>
+   * If the channel doesn't exist yet, or has been closed, a new one is created. Writing through the
+   * channel leaves received-data framing untouched; reading from it switches the connection to raw reads
+   * until the channel is closed.
+   *
+   * @return the byte channel for this connection
+   */
+  public synchronized CerialByteChannel openChannel()
+  {
+    if (channel == null || !channel.isOpen())
+    {
+      channel = new CerialByteChannel(this);
+    }
+    return channel;
+  }
+
+  /**
+   * Gets an input stream reading this connection's raw bytes, in place of framed reads.
+   *
+   * @return the input stream of {@link #openChannel()}
+   */
+  public InputStream getInputStream()
+  {
+    return openChannel().inputStream();
+  }
+
+  /**
+   * Gets the output stream for writing to the serial port.
+   * <p>
+   * Unless one was set with {@link #setWriter(OutputStream)}, this is the output stream of {@link #openChannel()}.
+   *
+   * @return the output stream
+   */
+  public synchronized OutputStream getWriter()
+  {
+    if (writer == null)
+    {
+      writer = openChannel().outputStream();
+    }
+    return writer;
+  }
+
+  /**
+   * Switches the port to raw reads: the data listener is detached and reads use jSerialComm's
+   * semi-blocking timeout of {@link #channelReadTimeoutMillis}. Called by {@link CerialByteChannel} on its first read.
+   */
+  public synchronized void beginRawRead()
+  {
+    if (connectionPort == null || !connectionPort.isOpen())
+    {
+      throw new SerialPortException("Port '" + getComPortName() + "' is not open");
+    }
+    if (!rawRead)
+    {
+      getLog().debug("📥 Raw reads started on '{}'", getComPortName());
+      rawRead = true;
+      connectionPort.removeDataListener();
+      applyRawRead();
+    }
+  }
+
+  /**
+   * Restores framed reads after {@link #beginRawRead()}. Called when the channel is closed.
+   */
+  public synchronized void endRawRead()
+  {
+    if (!rawRead)
+    {
+      return;
+    }
+    rawRead = false;
+    getLog().debug("📥 Raw reads ended on '{}'", getComPortName());
+    if (!shuttingDown && connectionPort != null && connectionPort.isOpen())
+    {
+      connectionPort.setComPortTimeouts(com.fazecast.jSerialComm.SerialPort.TIMEOUT_NONBLOCKING, 0, 0);
+      connectionPort.addDataListener(serialPortMessageListener);
+      clearToSend.set(flow != FlowType.RTSCTS || connectionPort.getCTS());
+    }
+  }
+
+  /**
+   * Releases a closed channel so the next {@link #openChannel()} creates a new one.
+   *
+   * @param closed the channel that was closed
+   */
+  public synchronized void closeChannel(CerialByteChannel closed)
+  {
+    if (channel == closed)
+    {
+      channel = null;
+      if (writer != null && writer == closed.outputStream())
+      {
+        writer = null;
+      }
+    }
+  }
+
+  private void applyRawRead()
+  {
+    connectionPort.setComPortTimeouts(com.fazecast.jSerialComm.SerialPort.TIMEOUT_READ_SEMI_BLOCKING, channelReadTimeoutMillis, 0);
+  }
+
+  /**
+   * Sets how long channel and stream reads wait for data.
+   *
+   * @param channelReadTimeoutMillis the read timeout in milliseconds, 0 to wait indefinitely
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setChannelReadTimeoutMillis(int channelReadTimeoutMillis)
+  {
+    this.channelReadTimeoutMillis = channelReadTimeoutMillis;
+    if (rawRead && connectionPort != null && connectionPort.isOpen())
+    {
+      applyRawRead();
+    }
+    return (J) this;
+  }
+
+  /**
+   * Gets the queue that serialises asynchronous writes.
+   * <p>
+   * If the queue doesn't exist yet, it is created.
+   *
+   * @return the write queue for this connection
+   */
+  public synchronized CerialWriteQueue getWriteQueue()
+  {
+    if (writeQueue == null)
+    {
+      writeQueue = new CerialWriteQueue(this);
+    }
+    return writeQueue;
+  }
+
+  /**
+   * Writes bytes to the port on the calling thread.
+   * <p>
+   * This is the single path to the native port for {@link #write(String, boolean...)} and the
+   * {@link CerialWriteQueue}: writers are serialised so that concurrent messages never interleave, the
+   * bytes are logged and recorded with the active {@link CerialTelemetry}.
+   *
+   * @param data   the buffer holding the bytes
+   * @param offset the index of the first byte to write
+   * @param length the number of bytes to write
+   * @throws SerialPortException if the port is not open or the native write fails
+   * @throws SerialWriteStalledException if no bytes can be written for {@link #writeStallTimeoutMillis}, such as while CTS is held low
+   */
+  public void transmit(byte[] data, int offset, int length)
+  {
+    CerialWriteEvent event = new CerialWriteEvent();
+    event.begin();
+    writeLock.lock();
+    try
+    {
+      if (connectionPort == null || !connectionPort.isOpen())
+      {
+        throw new SerialPortException("Port '" + getComPortName() + "' is not open");
+      }
+      int written = 0;
+      long stallDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(writeStallTimeoutMillis);
+      while (written < length)
+      {
+        if (!canSend())
+        {
+          awaitFlow(stallDeadline, written, length);
+          continue;
+        }
+        int chunk = length - written;
+        if (writePacing)
+        {
+          chunk = Math.min(chunk, Math.max(1, pacingBurstBytes));
+          pace(chunk);
+        }
+        int count = connectionPort.writeBytes(data, chunk, offset + written);
+        if (count < 0)
+        {
+          throw new SerialPortException("Write failed on '" + getComPortName() + "' after " + written + " of " + length + " bytes");
+        }
+        if (count == 0)
+        {
+          // the driver's output buffer is full, typically during a flow-control stall
+          awaitFlow(stallDeadline, written, length);
+          continue;
+        }
+        outputBufferEmpty.set(false);
+        written += count;
+        stallDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(writeStallTimeoutMillis);
+      }
+      // nothing went out, so there is no frame to space and pace() may not have created the bucket yet
+      if (writePacing && interFrameGapMicros > 0 && length > 0)
+      {
+        pacer.pause(TimeUnit.MICROSECONDS.toNanos(interFrameGapMicros), System.nanoTime());
+      }
+    }
+    catch (RuntimeException e)
+    {
+      getTrafficLogger().failed(true, data, offset, length);
+      event.finish(this, length, false);
+      throw e;
+    }
+    finally
+    {
+      writeLock.unlock();
+    }
+    markSent();
+    event.finish(this, length, true);
+    getTrafficLogger().sent(data, offset, length);
+    CerialTelemetry.get()
+                   .onWritten(data, offset, length, this);
+  }
+
+  /**
+   * Writes the remaining bytes of a buffer to the port on the calling thread, advancing its position.
+   * <p>
+   * The write lock is held across the whole buffer, so no other writer's message is interleaved with it.
+   * Heap buffers are written from their backing array; direct and read-only buffers are copied through
+   * a reusable scratch array, one chunk at a time. Writing stops at the first chunk that fails, leaving
+   * the position at the start of that chunk.
+   *
+   * @param buffer the buffer to send
+   * @throws SerialPortException if the port is not open or the native write fails
+   * @throws SerialWriteStalledException if no bytes can be written for {@link #writeStallTimeoutMillis}
+   */
+  public void transmit(ByteBuffer buffer)
+  {
+    if (!buffer.hasRemaining())
+    {
+      return;
+    }
+    writeLock.lock();
+    try
+    {
+      if (buffer.hasArray())
+      {
+        transmit(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        buffer.position(buffer.limit());
+        return;
+      }
+      ensureWriteScratch(Math.min(buffer.remaining(), MAX_WRITE_CHUNK));
+      while (buffer.hasRemaining())
+      {
+        int start = buffer.position();
+        int chunk = Math.min(buffer.remaining(), writeScratch.length);
+        buffer.get(start, writeScratch, 0, chunk);
+        transmit(writeScratch, 0, chunk);
+        buffer.position(start + chunk);
+      }
+    }
+    finally
+    {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Indicates whether data may be written now: always without RTS/CTS flow control, otherwise only while
+   * the device holds CTS high.
+   *
+   * @return true if the port is clear to send
+   */
+  public boolean canSend()
+  {
+    return flow != FlowType.RTSCTS || clearToSend.get();
+  }
+
+  /**
+   * Called by the listeners when the CTS line changes. Raising CTS wakes suspended writers.
+   *
+   * @param cts the new CTS state
+   */
+  public void onClearToSendChanged(boolean cts)
+  {
+    clearToSend.set(cts);
+    getLog().debug("🔄 CTS {} on '{}'", cts ? "raised" : "dropped", getComPortName());
+    if (cts)
+    {
+      signalFlow();
+      if (writeQueue != null)
+      {
+        writeQueue.resume();
+      }
+    }
+  }
+
+  /**
+   * Called by the listeners when the port reports written data has left the driver.
+   */
+  public void onOutputDrained()
+  {
+    signalFlow();
+    checkDrained();
+  }
+
+  /**
+   * Returns a future completed once everything written so far has drained from the output buffer.
+   * <p>
+   * Completion is driven by the port's data-written event, with a check on the shared
+   * {@link CerialTimingWheel} paced by the estimated drain time in case the platform does not report it.
+   *
+   * @return a future completed when the output buffer is empty
+   */
+  public Future<Void> whenDrained()
+  {
+    if (outputDrained())
+    {
+      outputBufferEmpty.set(true);
+      return Future.succeededFuture();
+    }
+    Promise<Void> promise = Promise.promise();
+    drainWaiters.add(promise);
+    checkDrained();
+    return promise.future();
+  }
+
+  private boolean outputDrained()
+  {
+    return connectionPort == null || !connectionPort.isOpen() || connectionPort.bytesAwaitingWrite() <= 0;
+  }
+
+  private void checkDrained()
+  {
+    if (outputDrained())
+    {
+      outputBufferEmpty.set(true);
+      Promise<Void> waiter;
+      while ((waiter = drainWaiters.poll()) != null)
+      {
+        waiter.tryComplete();
+      }
+    }
+    else if (!drainWaiters.isEmpty() && drainCheckScheduled.compareAndSet(false, true))
+    {
+      long estimate = Math.max(TimeUnit.MILLISECONDS.toNanos(1), connectionPort.bytesAwaitingWrite() * getCharacterTimeNanos());
+      CerialTimingWheel.shared()
+                       .schedule(() -> {
+                         drainCheckScheduled.set(false);
+                         checkDrained();
+                       }, estimate, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void signalFlow()
+  {
+    flowLock.lock();
+    try
+    {
+      flowChanged.signalAll();
+    }
+    finally
+    {
+      flowLock.unlock();
+    }
+  }
+
+  /**
+   * Waits for CTS or output buffer space, failing the write once it has stalled past the deadline.
+   */
+  private void awaitFlow(long stallDeadline, int written, int length)
+  {
+    long remaining = stallDeadline - System.nanoTime();
+    if (remaining <= 0)
+    {
+      throw new SerialWriteStalledException("Write stalled on '" + getComPortName() + "' after " + written + " of " + length + " bytes"
+                                        + (canSend() ? "" : " - CTS is low"));
+    }
+    if (connectionPort == null || !connectionPort.isOpen())
+    {
+      throw new SerialPortException("Port '" + getComPortName() + "' closed during write");
+    }
+    if (rawRead && flow == FlowType.RTSCTS)
+    {
+      // no listener delivers CTS events during raw reads
+      clearToSend.set(connectionPort.getCTS());
+    }
+    flowLock.lock();
+    try
+    {
+      // bounded slice: a full driver buffer drains without raising an event
+      flowChanged.awaitNanos(Math.min(remaining, Math.max(TimeUnit.MILLISECONDS.toNanos(1), getCharacterTimeNanos() * 16)));
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread()
+            .interrupt();
+      throw new SerialPortException("Write interrupted on '" + getComPortName() + "'");
+    }
+    finally
+    {
+      flowLock.unlock();
+    }
+  }
+
+  /**
+   * Sets how long a write may make no progress before it fails.
+   *
+   * @param writeStallTimeoutMillis the stall timeout in milliseconds
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setWriteStallTimeoutMillis(long writeStallTimeoutMillis)
   {
-    String name;
-    if (OSValidator.isWindows())
+    this.writeStallTimeoutMillis = writeStallTimeoutMillis;
+    return (J) this;
+  }
+
+  /**
+   * Sets whether asynchronous write futures complete only once the output buffer has drained.
+   *
+   * @param completeWritesOnDrain true to complete on drain, false to complete when handed to the driver
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setCompleteWritesOnDrain(boolean completeWritesOnDrain)
+  {
+    this.completeWritesOnDrain = completeWritesOnDrain;
+    return (J) this;
+  }
+
+  /**
+   * Waits until the pacing bucket allows the given number of bytes onto the line. Requires {@link #writeLock}.
+   */
+  private void pace(int bytes)
+  {
+    double rate = pacingBytesPerSecond > 0 ? pacingBytesPerSecond : 1_000_000_000d / getCharacterTimeNanos();
+    long now = System.nanoTime();
+    if (pacer == null)
     {
-      name = "COM" + getComPort();
+      pacer = new CerialTokenBucket(rate, Math.max(1, pacingBurstBytes), now);
     }
-    else
+    else if (pacer.getBytesPerSecond() != rate || pacer.getCapacity() != Math.max(1, pacingBurstBytes))
     {
-      name = "/dev/ttyUSB" + getComPort() + " " + getBaudRate().toInt();
+      pacer.configure(rate, Math.max(1, pacingBurstBytes));
     }
-    if (getLog() != null && getLog().isDebugEnabled())
+    long deadline = now + pacer.reserve(bytes, now);
+    long wait;
+    while ((wait = deadline - System.nanoTime()) > 0)
     {
-      getLog().trace("📝 Computed port name: '{}'", name);
+      LockSupport.parkNanos(wait);
     }
-    return name;
   }
 
   /**
-   * Writes a message to the serial port.
-   * <p>
-   * This method sends the specified message to the serial port. If the message doesn't
-   * end with a newline character, one is automatically added. The message is logged
-   * with the COM port number and the message content.
-   * <p>
-   * If the port is not open, the message is not sent and a trace log entry is made.
+   * Sets the end-of-message delimiter, used to frame received messages and to terminate written ones.
    *
-   * @param message                the message to send
-   * @param checkForEndOfCharacter optional parameter (not used in the current implementation)
-   * @throws RuntimeException if an error occurs while writing to the port (wrapped by @SneakyThrows)
+   * @param endOfMessage the delimiter characters
+   * @return this connection for method chaining
    */
-  public void write(String message, boolean... checkForEndOfCharacter)
+  public @org.jspecify.annotations.NonNull J setEndOfMessage(char[] endOfMessage)
   {
-    if (connectionPort != null && connectionPort.isOpen())
+    this.endOfMessage = endOfMessage;
+    this.terminatorBytes = null;
+    return (J) this;
+  }
+
+  private byte[] getTerminatorBytes()
+  {
+    byte[] terminator = terminatorBytes;
+    if (terminator == null)
     {
-      if (!Strings.isNullOrEmpty(message))
+      terminator = terminatorBytes = endOfMessage == null ? new byte[0] : new String(endOfMessage).getBytes(StandardCharsets.UTF_8);
+    }
+    return terminator;
+  }
+
+  /**
+   * UTF-8 encodes a message into a new array, appending the terminator if requested and missing.
+   */
+  private byte[] encodeOwned(String message, boolean terminate)
+  {
+    byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+    if (terminate)
+    {
+      byte[] terminator = getTerminatorBytes();
+      if (!endsWith(bytes, bytes.length, terminator))
       {
-        if (!message.endsWith(String.valueOf('\n')))
-        {
-          message += '\n';
-        }
-        try
-        {
-          if (IGuiceContext.instance().getScanResult().getClassesImplementing(com.guicedee.client.services.lifecycle.IGuiceModule.class).loadClasses().stream().anyMatch(c -> c.getSimpleName().equals("TraceModule")))
-          {
-            IGuiceContext.get(com.guicedee.cerial.implementations.CerialWriteTracer.class).onWrite(message, getComPortName(), getComPort());
-          }
-          byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
-          connectionPort.writeBytes(bytes, bytes.length);
-          getLog().info("📤 TX - Port {} - Message: {}", portNumberFormat.format(getComPort()), message.trim());
-          addBytesWritten(bytes.length, getComPortName());
-        }
-        catch (Throwable t)
-        {
-          getLog().error("❌ Write failed on '{}': {}", getComPortName(), t.getMessage(), t);
-          onConnectError(t, ComPortStatus.GeneralException);
-        }
+        bytes = Arrays.copyOf(bytes, bytes.length + terminator.length);
+        System.arraycopy(terminator, 0, bytes, bytes.length - terminator.length, terminator.length);
       }
-      //log.warn("TX : {}", message);
     }
-    else
+    return bytes;
+  }
+
+  private static boolean terminates(boolean... checkForEndOfCharacter)
+  {
+    return checkForEndOfCharacter == null || checkForEndOfCharacter.length == 0 || checkForEndOfCharacter[0];
+  }
+
+  private static boolean endsWith(byte[] data, int length, byte[] suffix)
+  {
+    if (suffix.length > length)
     {
-      getLog().trace("⚠️ Message NOT sent - Port not open - Message: [{}]", message);
+      return false;
+    }
+    return Arrays.equals(data, length - suffix.length, length, suffix, 0, suffix.length);
+  }
+
+  /**
+   * UTF-8 encodes a message into {@link #writeScratch}, appending the terminator if requested and
+   * missing. ASCII messages, the common case, are encoded without allocating. Requires {@link #writeLock}.
+   *
+   * @return the number of bytes encoded
+   */
+  private int encodeMessage(String message, boolean terminate)
+  {
+    byte[] terminator = terminate ? getTerminatorBytes() : new byte[0];
+    int chars = message.length();
+    ensureWriteScratch(chars + terminator.length);
+    int length = 0;
+    for (int i = 0; i < chars; i++)
+    {
+      char c = message.charAt(i);
+      if (c >= 0x80)
+      {
+        byte[] encoded = message.getBytes(StandardCharsets.UTF_8);
+        ensureWriteScratch(encoded.length + terminator.length);
+        System.arraycopy(encoded, 0, writeScratch, 0, encoded.length);
+        length = encoded.length;
+        break;
+      }
+      writeScratch[length++] = (byte) c;
+    }
+    if (terminator.length > 0 && !endsWith(writeScratch, length, terminator))
+    {
+      System.arraycopy(terminator, 0, writeScratch, length, terminator.length);
+      length += terminator.length;
+    }
+    return length;
+  }
+
+  private void ensureWriteScratch(int size)
+  {
+    if (writeScratch.length < size)
+    {
+      writeScratch = new byte[Math.max(size, writeScratch.length * 2)];
     }
   }
 
@@ -913,7 +2224,22 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
       safeLogClose("stop idle monitor", t);
     }
 
+    if (readStream != null)
+    {
+      readStream.end();
+    }
+    if (requestCorrelator != null)
+    {
+      requestCorrelator.failAll(new SerialPortException("Port '" + getComPortName() + "' is shutting down"));
+    }
+    if (writeQueue != null)
+    {
+      writeQueue.failPending(new SerialPortException("Port '" + getComPortName() + "' is shutting down"));
+    }
+
     closePortQuietly();
+    CerialTelemetry.get()
+                   .connectionClosed(this);
   }
 
   /**
@@ -1063,6 +2389,10 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
    */
   public @org.jspecify.annotations.NonNull J setComPortStatus(ComPortStatus comPortStatus)
   {
+    if (this.comPortStatus != comPortStatus)
+    {
+      CerialStatusChangeEvent.emit(this, this.comPortStatus, comPortStatus);
+    }
     if (this.comPortStatus != comPortStatus && this.comPortStatusUpdate != null)
     {
       getLog().debug("🔄 Updating port status: Port [{}] changing to [{}]", comPort, comPortStatus);
@@ -1132,6 +2462,105 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
     return (J) this;
   }
 
+  /**
+   * Sets how received frames are delivered to the read callback.
+   * <p>
+   * {@link DispatchMode#VirtualThread} suits handlers that block on JDBC, HTTP or similar calls; each
+   * port's frames are still delivered one at a time and in order.
+   *
+   * @param dispatchMode the dispatch mode
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setDispatchMode(DispatchMode dispatchMode)
+  {
+    this.dispatchMode = dispatchMode;
+    return (J) this;
+  }
+
+  /**
+   * Sets the maximum number of received frames waiting for the read callback.
+   *
+   * @param inboundQueueCapacity the inbound queue capacity
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setInboundQueueCapacity(int inboundQueueCapacity)
+  {
+    this.inboundQueueCapacity = inboundQueueCapacity;
+    return (J) this;
+  }
+
+  /**
+   * Sets what happens to received frames once the inbound queue is full.
+   *
+   * @param overflowPolicy the overflow policy
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setOverflowPolicy(OverflowPolicy overflowPolicy)
+  {
+    this.overflowPolicy = overflowPolicy;
+    return (J) this;
+  }
+
+  /**
+   * Sets how many frames arrive at a full queue for each one admitted under {@link OverflowPolicy#Sample}.
+   *
+   * @param inboundSampleInterval the sample interval
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setInboundSampleInterval(int inboundSampleInterval)
+  {
+    this.inboundSampleInterval = inboundSampleInterval;
+    return (J) this;
+  }
+
+  /**
+   * Enables or disables metering writes out at line rate.
+   *
+   * @param writePacing true to pace writes
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setWritePacing(boolean writePacing)
+  {
+    this.writePacing = writePacing;
+    return (J) this;
+  }
+
+  /**
+   * Sets how many bytes may be written back to back while pacing.
+   *
+   * @param pacingBurstBytes the burst size, typically the device's receive FIFO size
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setPacingBurstBytes(int pacingBurstBytes)
+  {
+    this.pacingBurstBytes = pacingBurstBytes;
+    return (J) this;
+  }
+
+  /**
+   * Sets an explicit pacing rate instead of the line rate.
+   *
+   * @param pacingBytesPerSecond the rate in bytes per second, or 0 to derive it from the line settings
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setPacingBytesPerSecond(double pacingBytesPerSecond)
+  {
+    this.pacingBytesPerSecond = pacingBytesPerSecond;
+    return (J) this;
+  }
+
+  /**
+   * Sets the idle line time held after each write while pacing.
+   *
+   * @param interFrameGapMicros the gap in microseconds
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setInterFrameGapMicros(long interFrameGapMicros)
+  {
+    this.interFrameGapMicros = interFrameGapMicros;
+    return (J) this;
+  }
+
   /**
    * Sets the read buffer size.
    *
@@ -1186,6 +2615,106 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
     return (J) this;
   }
 
+  /**
+   * Selects a registered binary frame decoder by name.
+   *
+   * @param decoderName the {@link CerialFrameDecoder#name()} of a registered decoder, e.g. {@code "cobs"}
+   * @return this connection for method chaining
+   * @throws SerialPortException if no decoder is registered under that name
+   */
+  public @org.jspecify.annotations.NonNull J setFrameDecoder(String decoderName)
+  {
+    return setFrameDecoder(CerialFrameDecoder.load(decoderName));
+  }
+
+  /**
+   * Frames received data with the given binary decoder.
+   * <p>
+   * The connection switches to a {@link DataSerialPortBytesListener} in
+   * {@link DataSerialPortBytesListener.Mode#Decoder} mode, keeping any registered read callback.
+   * If the port is already open the new listener is attached immediately.
+   *
+   * @param frameDecoder the decoder instance, owned by this connection from now on
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setFrameDecoder(CerialFrameDecoder frameDecoder)
+  {
+    frameDecoder.reset();
+    useBytesListener().setFrameDecoder(frameDecoder)
+                      .setMode(DataSerialPortBytesListener.Mode.Decoder);
+    getLog().debug("🔗 Frame decoder '{}' selected for '{}'", frameDecoder.name(), getComPortName());
+    return (J) this;
+  }
+
+  /**
+   * Frames received data by line silence: a frame ends when no byte arrives for the given gap.
+   *
+   * @param gapMicros the inter-byte gap in microseconds that closes a frame
+   * @return this connection for method chaining
+   */
+  public @org.jspecify.annotations.NonNull J setGapFraming(long gapMicros)
+  {
+    useBytesListener().setGapMicros(gapMicros)
+                      .setMode(DataSerialPortBytesListener.Mode.Gap);
+    getLog().debug("🔗 Gap framing of {}µs selected for '{}'", gapMicros, getComPortName());
+    return (J) this;
+  }
+
+  /**
+   * Frames received data by line silence, with the gap expressed in character times at the current
+   * line settings (for example 3.5 for Modbus RTU).
+   *
+   * @param characters the inter-byte gap in character times
+   * @return this connection for method chaining
+   * @see #getCharacterTimeNanos()
+   */
+  public @org.jspecify.annotations.NonNull J setGapFramingCharacters(double characters)
+  {
+    useBytesListener().setGapCharacters(characters)
+                      .setGapMicros(0)
+                      .setMode(DataSerialPortBytesListener.Mode.Gap);
+    getLog().debug("🔗 Gap framing of {} character times selected for '{}'", characters, getComPortName());
+    return (J) this;
+  }
+
+  /**
+   * Returns the time one character occupies on the line at the configured baud rate, data bits,
+   * parity and stop bits (start bit included).
+   *
+   * @return the character time in nanoseconds
+   */
+  public long getCharacterTimeNanos()
+  {
+    double bits = 1 + dataBits.toInt() + (parity == Parity.None ? 0 : 1) + stopBits.bitLength();
+    return (long) Math.ceil(bits * 1_000_000_000d / baudRate.toInt());
+  }
+
+  /**
+   * Returns the bytes listener for this connection, replacing the current listener with one if
+   * needed. Any registered read callback is kept, and an open port is switched over immediately.
+   *
+   * @return the bytes listener
+   */
+  private DataSerialPortBytesListener useBytesListener()
+  {
+    if (serialPortMessageListener instanceof DataSerialPortBytesListener existing)
+    {
+      return existing;
+    }
+    DataSerialPortBytesListener bytesListener = new DataSerialPortBytesListener(endOfMessage, connectionPort, this);
+    if (serialPortMessageListener instanceof ComPortEvents events)
+    {
+      bytesListener.setComPortRead(events.getComPortRead());
+    }
+    serialPortMessageListener = bytesListener;
+    if (connectionPort != null && connectionPort.isOpen())
+    {
+      connectionPort.removeDataListener();
+      connectionPort.addDataListener(bytesListener);
+    }
+    return bytesListener;
+  }
+
   /**
    * Sets the callback for port errors.
    *
@@ -1211,14 +2740,99 @@ public class CerialPortConnection<J extends CerialPortConnection<J>> implements
   }
 
   /**
-   * Sets the timestamp of the last received message.
+   * Records that data was received now. Called by the listeners and channel reads for every arrival;
+   * a single volatile write with no allocation.
+   */
+  public void markReceived()
+  {
+    lastRxNanos = System.nanoTime();
+  }
+
+  /**
+   * Records that a write completed now.
+   */
+  public void markSent()
+  {
+    lastTxNanos = System.nanoTime();
+  }
+
+  /**
+   * Returns the {@link System#nanoTime()} at which data was last received.
+   *
+   * @return the last receive time, or 0 if nothing has been received
+   */
+  public long getLastRxNanos()
+  {
+    return lastRxNanos;
+  }
+
+  /**
+   * Returns the {@link System#nanoTime()} at which a write last completed.
+   *
+   * @return the last write time, or 0 if nothing has been written
+   */
+  public long getLastTxNanos()
+  {
+    return lastTxNanos;
+  }
+
+  /**
+   * Returns the {@link System#nanoTime()} of the most recent traffic in either direction.
+   *
+   * @return the last activity time, or 0 if the port has seen no traffic
+   */
+  public long getLastActivityNanos()
+  {
+    long rx = lastRxNanos;
+    long tx = lastTxNanos;
+    if (rx == 0)
+    {
+      return tx;
+    }
+    if (tx == 0)
+    {
+      return rx;
+    }
+    return rx - tx > 0 ? rx : tx;
+  }
+
+  /**
+   * Returns the wall-clock time of the most recent traffic in either direction, derived on demand from
+   * the monotonic receive and write timestamps.
+   *
+   * @return the last message time, or null if the port has seen no traffic
+   */
+  @JsonProperty("lastMessageTime")
+  public LocalDateTime getLastMessageTime()
+  {
+    long last = getLastActivityNanos();
+    if (last == 0)
+    {
+      return null;
+    }
+    return LocalDateTime.now()
+                        .minusNanos(System.nanoTime() - last);
+  }
+
+  /**
+   * Sets the time of the last received message, for simulations and restored state.
    *
-   * @param lastMessageTime the last message timestamp
+   * @param lastMessageTime the last message timestamp, or null to clear both receive and write times
    * @return this connection for method chaining
    */
+  @JsonProperty("lastMessageTime")
   public @org.jspecify.annotations.NonNull J setLastMessageTime(LocalDateTime lastMessageTime)
   {
-    this.lastMessageTime = lastMessageTime;
+    if (lastMessageTime == null)
+    {
+      lastRxNanos = 0;
+      lastTxNanos = 0;
+    }
+    else
+    {
+      lastRxNanos = System.nanoTime() - Duration.between(lastMessageTime, LocalDateTime.now())
+                                                .toNanos();
+    }
     return (J) this;
   }
 }
@@ -0,0 +1,98 @@
+package com.guicedee.cerial;
+
+import com.google.inject.Singleton;
+import com.guicedee.cerial.enumerations.BaudRate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates serial port connections on demand and hands out one shared instance per port.
+ * <p>
+ * Connections are built the first time a port is asked for, with the default baud rate, and cached for
+ * the life of the application, so every caller configuring port 5 configures the same connection.
+ * {@code @Named("5")} injection of a {@link CerialPortConnection} resolves through this factory.
+ * Ports may be given by number or by the platform's device name for that number, {@code COM5} on Windows
+ * or {@code /dev/ttyUSB5} elsewhere (see {@link CerialPortConnection#devicePrefix()}), as connections
+ * address their device by number. Other device names, such as {@code /dev/ttyS0}, are rejected rather
+ * than aliased to the numbered port.
+ */
+@Singleton
+public class CerialPortFactory {
+    private final Map<Integer, CerialPortConnection<?>> connections = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new connection factory.
+     */
+    public CerialPortFactory() {
+    }
+
+    /**
+     * Returns the connection for a port, creating it on first use.
+     *
+     * @param comPort the COM port number (e.g., 1 for COM1)
+     * @return the shared connection for the port
+     */
+    public CerialPortConnection<?> get(int comPort) {
+        if (comPort < 0) {
+            throw new IllegalArgumentException("Port number must not be negative - " + comPort);
+        }
+        return connections.computeIfAbsent(comPort, port -> new CerialPortConnection<>(port, BaudRate.$9600));
+    }
+
+    /**
+     * Returns the connection for a port given by number or device name, creating it on first use.
+     *
+     * @param port the port number, or the platform's device name for it such as {@code COM5} or {@code /dev/ttyUSB5}
+     * @return the shared connection for the port
+     * @throws IllegalArgumentException if the name is not a port number or the platform's device name for one
+     */
+    public CerialPortConnection<?> get(String port) {
+        return get(toPortNumber(port));
+    }
+
+    /**
+     * Returns the connection for a port if it has already been created.
+     *
+     * @param comPort the COM port number
+     * @return the connection, or empty if the port has not been asked for yet
+     */
+    public Optional<CerialPortConnection<?>> find(int comPort) {
+        return Optional.ofNullable(connections.get(comPort));
+    }
+
+    /**
+     * Returns the connections created so far.
+     *
+     * @return an unmodifiable view of the cached connections
+     */
+    public Collection<CerialPortConnection<?>> getConnections() {
+        return Collections.unmodifiableCollection(connections.values());
+    }
+
+    /**
+     * Resolves a port number or the platform's device name for a port to its port number.
+     *
+     * @param port the port number, or {@link CerialPortConnection#devicePrefix()} followed by it
+     * @return the port number
+     * @throws IllegalArgumentException if the name is neither
+     */
+    public static int toPortNumber(String port) {
+        String name = port == null ? "" : port.trim();
+        String prefix = CerialPortConnection.devicePrefix();
+        if (name.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            name = name.substring(prefix.length());
+        }
+        if (name.isEmpty() || !name.chars().allMatch(Character::isDigit)) {
+            throw new IllegalArgumentException("'" + port + "' is not a port number or a " + prefix + "N device name");
+        }
+        try {
+            return Integer.parseInt(name);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Port number out of range in '" + port + "'", e);
+        }
+    }
+}
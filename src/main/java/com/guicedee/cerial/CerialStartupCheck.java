@@ -0,0 +1,38 @@
+package com.guicedee.cerial;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Startup;
+
+import com.google.inject.Singleton;
+
+/**
+ * Startup check for Cerial connections.
+ * Reports DOWN while a group opened through {@link CerialConnectionRegistry#connectAll(java.util.Collection, int)}
+ * is still connecting, so startup is not signalled before every port in it has been tried, and UP otherwise.
+ * It is a startup check only: groups connected later, such as a fleet reconnected at runtime, never fail
+ * liveness or readiness.
+ */
+@Startup
+@Singleton
+public class CerialStartupCheck implements HealthCheck {
+
+    /**
+     * Creates a new Cerial startup check.
+     */
+    public CerialStartupCheck() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HealthCheckResponse call() {
+        HealthCheckResponseBuilder builder = HealthCheckResponse.named("Cerial Startup");
+        if (CerialConnectionRegistry.isConnecting()) {
+            return builder.down().withData("status", "Connecting").build();
+        }
+        return builder.up().build();
+    }
+}
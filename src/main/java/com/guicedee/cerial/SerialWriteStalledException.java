@@ -0,0 +1,18 @@
+package com.guicedee.cerial;
+
+/**
+ * Exception thrown when a write makes no progress within the connection's write stall timeout, typically
+ * because the remote device is holding CTS low. The link itself is still up, so this fails the write
+ * without reconnecting the port.
+ */
+public class SerialWriteStalledException
+		extends SerialPortException{
+    /**
+     * Creates a new write stall exception with a message.
+     *
+     * @param message the detail message
+     */
+    public SerialWriteStalledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.guicedee.cerial.enumerations;
+
+/**
+ * Execution model used to deliver received frames to a connection's read callback.
+ * Frames from one port are delivered in order in either mode.
+ */
+public enum DispatchMode
+{
+     /** Deliver on the shared Vert.x worker pool. */
+     Worker,
+     /** Deliver on a virtual thread, so blocking handlers do not hold a platform thread. */
+     VirtualThread;
+
+}
@@ -0,0 +1,59 @@
+package com.guicedee.cerial.enumerations;
+
+import lombok.Getter;
+
+import static com.fazecast.jSerialComm.SerialPort.*;
+
+/**
+ * Line-level receive errors reported by the serial driver.
+ */
+@Getter
+public enum LineErrorType
+{
+     /** Received data was lost because the driver's buffer was not read in time. */
+     SoftwareOverrun("Software Overrun Error", LISTENING_EVENT_SOFTWARE_OVERRUN_ERROR),
+     /** A received character failed its parity check. */
+     Parity("Software Parity Error", LISTENING_EVENT_PARITY_ERROR),
+     /** A received character had no valid stop bit. */
+     Framing("Hardware Framing Error", LISTENING_EVENT_FRAMING_ERROR),
+     /** Received data was lost because the UART's FIFO overflowed. */
+     FirmwareOverrun("Hardware Firmware Overrun Error", LISTENING_EVENT_FIRMWARE_OVERRUN_ERROR),
+     /** The line was held in the spacing state for longer than a character. */
+     BreakInterrupt("Hardware Break Interrupt Error", LISTENING_EVENT_BREAK_INTERRUPT);
+
+    /** Description used in logs and exceptions. */
+    private final String description;
+
+    /** The jSerialComm listening event reporting this error. */
+    private final int listeningEvent;
+
+    /**
+     * Creates a line error type.
+     *
+     * @param description    the description used in logs and exceptions
+     * @param listeningEvent the jSerialComm listening event
+     */
+    LineErrorType(String description, int listeningEvent)
+    {
+        this.description = description;
+        this.listeningEvent = listeningEvent;
+    }
+
+    /**
+     * Finds the line error reported by a jSerialComm event type.
+     *
+     * @param eventType the event type
+     * @return the line error, or null if the event is not a line error
+     */
+    public static LineErrorType fromListeningEvent(int eventType)
+    {
+        for (LineErrorType type : values())
+        {
+            if (type.listeningEvent == eventType)
+            {
+                return type;
+            }
+        }
+        return null;
+    }
+}
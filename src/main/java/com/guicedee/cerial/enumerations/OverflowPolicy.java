@@ -0,0 +1,17 @@
+package com.guicedee.cerial.enumerations;
+
+/**
+ * What a connection does with a received frame when its inbound queue is full.
+ */
+public enum OverflowPolicy
+{
+     /** Hold the reading thread until the handler catches up, pushing back on the port. */
+     Block,
+     /** Discard the oldest queued frame to make room. */
+     DropOldest,
+     /** Discard the frame that just arrived. */
+     DropNewest,
+     /** Admit one in every sample-interval frames (discarding the oldest) and drop the rest. */
+     Sample;
+
+}
@@ -37,6 +37,16 @@ public enum StopBits
         return stopBitsValue;
     }
 
+    /**
+     * Returns the time the stop bits occupy on the line, in bit periods.
+     *
+     * @return 1, 1.5 or 2 bit periods
+     */
+    public double bitLength()
+    {
+        return this == $1_5 ? 1.5d : stopBitsValue;
+    }
+
     /**
      * Parses a stop-bits value from a string, with or without the leading '$'.
      *
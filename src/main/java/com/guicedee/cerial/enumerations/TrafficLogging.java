@@ -0,0 +1,17 @@
+package com.guicedee.cerial.enumerations;
+
+/**
+ * Which received and written messages a connection writes to its traffic log.
+ */
+public enum TrafficLogging
+{
+     /** Log no traffic. */
+     Off,
+     /** Log one in every sample-interval messages in each direction. */
+     Sampled,
+     /** Log only messages involved in a failure: writes that fail and frames whose handler throws. */
+     ErrorsOnly,
+     /** Log every message. */
+     Full;
+
+}
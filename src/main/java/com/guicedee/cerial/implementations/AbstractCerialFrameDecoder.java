@@ -0,0 +1,116 @@
+package com.guicedee.cerial.implementations;
+
+import com.guicedee.cerial.CerialFrameDecoder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Base class for the bundled {@link CerialFrameDecoder} implementations.
+ * <p>
+ * Holds a reusable scratch array for the frame being assembled, grown on demand up to
+ * {@link #maxFrameLength}. Frames that would exceed the limit are discarded. The only per-frame
+ * allocation is the copy handed to the frame sink.
+ */
+public abstract class AbstractCerialFrameDecoder implements CerialFrameDecoder
+{
+    /**
+     * The largest decoded frame accepted; longer frames are dropped.
+     */
+    @Getter
+    @Setter
+    private int maxFrameLength = 4096;
+
+    private byte[] scratch = new byte[64];
+    private int frameLength;
+    private boolean overflowed;
+
+    /**
+     * Creates a decoder with the default maximum frame length.
+     */
+    protected AbstractCerialFrameDecoder()
+    {
+    }
+
+    @Override
+    public void decode(byte[] data, int offset, int length, Consumer<byte[]> frames)
+    {
+        int end = offset + length;
+        for (int i = offset; i < end; i++)
+        {
+            accept(data[i], frames);
+        }
+    }
+
+    @Override
+    public void reset()
+    {
+        discardFrame();
+    }
+
+    /**
+     * Processes one received byte.
+     *
+     * @param b      the received byte
+     * @param frames the sink for completed frames
+     */
+    protected abstract void accept(byte b, Consumer<byte[]> frames);
+
+    /**
+     * Appends a decoded byte to the current frame, marking the frame as overflowed if it grows too long.
+     *
+     * @param b the decoded byte
+     */
+    protected void append(byte b)
+    {
+        if (overflowed)
+        {
+            return;
+        }
+        if (frameLength == maxFrameLength)
+        {
+            overflowed = true;
+            return;
+        }
+        if (frameLength == scratch.length)
+        {
+            scratch = Arrays.copyOf(scratch, Math.min(maxFrameLength, scratch.length * 2));
+        }
+        scratch[frameLength++] = b;
+    }
+
+    /**
+     * Returns the number of decoded bytes in the current frame.
+     *
+     * @return the current frame length
+     */
+    protected int currentLength()
+    {
+        return frameLength;
+    }
+
+    /**
+     * Emits the current frame, unless it is empty or overflowed, and starts a new one.
+     *
+     * @param frames the sink for completed frames
+     */
+    protected void completeFrame(Consumer<byte[]> frames)
+    {
+        if (!overflowed && frameLength > 0)
+        {
+            frames.accept(Arrays.copyOf(scratch, frameLength));
+        }
+        discardFrame();
+    }
+
+    /**
+     * Drops the current frame.
+     */
+    protected void discardFrame()
+    {
+        frameLength = 0;
+        overflowed = false;
+    }
+}
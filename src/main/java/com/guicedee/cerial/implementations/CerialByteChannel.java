@@ -0,0 +1,323 @@
+package com.guicedee.cerial.implementations;
+
+import com.fazecast.jSerialComm.SerialPort;
+import com.guicedee.cerial.CerialPortConnection;
+import com.guicedee.cerial.SerialPortException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Raw byte view of a connection as a NIO {@link ByteChannel} and as {@code java.io} streams, for bulk
+ * transfers such as firmware images or print jobs.
+ * <p>
+ * Writes go straight to {@link CerialPortConnection#transmit(ByteBuffer)}, which holds the connection's
+ * write lock across each buffer, so they share it, flow control and pacing with every other writer and
+ * are never interleaved with their messages. They may be used while the connection keeps framing received
+ * data as usual. Reading is different: the first read switches the connection to raw reads
+ * ({@link CerialPortConnection#beginRawRead()}), which detaches the data listener and puts the port into
+ * jSerialComm's semi-blocking read mode, so received bytes come back from {@link #read(ByteBuffer)}
+ * instead of being framed and dispatched. Closing the channel restores framing.
+ * <p>
+ * {@link #read(ByteBuffer)} blocks until at least one byte arrives or the connection's channel read
+ * timeout passes, returning 0 on timeout and -1 once the port has closed. The {@link #inputStream()}
+ * view instead throws {@link InterruptedIOException} on timeout, as socket streams do. Buffers for
+ * direct {@link ByteBuffer}s are reused between calls.
+ */
+public class CerialByteChannel implements ByteChannel
+{
+    private static final int MAX_CHUNK = 4096;
+
+    private final CerialPortConnection<?> connection;
+    private final ReentrantLock readLock = new ReentrantLock();
+    private byte[] readScratch = new byte[256];
+    private volatile boolean open = true;
+    private volatile boolean reading;
+
+    private InputStream inputStream;
+    private OutputStream outputStream;
+
+    /**
+     * Creates the channel view of a connection.
+     *
+     * @param connection the owning connection
+     */
+    public CerialByteChannel(CerialPortConnection<?> connection)
+    {
+        this.connection = connection;
+    }
+
+    /**
+     * Indicates whether this channel has switched the connection to raw reads.
+     *
+     * @return true once the channel has been read from and until it is closed
+     */
+    public boolean isReading()
+    {
+        return reading;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException
+    {
+        ensureOpen();
+        if (!dst.hasRemaining())
+        {
+            return 0;
+        }
+        readLock.lock();
+        try
+        {
+            if (!reading)
+            {
+                connection.beginRawRead();
+                reading = true;
+            }
+            SerialPort port = connection.getConnectionPort();
+            if (port == null || !port.isOpen())
+            {
+                return -1;
+            }
+            int count;
+            if (dst.hasArray())
+            {
+                count = port.readBytes(dst.array(), dst.remaining(), dst.arrayOffset() + dst.position());
+                if (count > 0)
+                {
+                    dst.position(dst.position() + count);
+                }
+            }
+            else
+            {
+                int length = Math.min(dst.remaining(), MAX_CHUNK);
+                if (readScratch.length < length)
+                {
+                    readScratch = new byte[length];
+                }
+                count = port.readBytes(readScratch, length);
+                if (count > 0)
+                {
+                    dst.put(readScratch, 0, count);
+                }
+            }
+            if (count < 0)
+            {
+                if (!port.isOpen())
+                {
+                    return -1;
+                }
+                throw new IOException("Read failed on '" + connection.getComPortName() + "'");
+            }
+            if (count > 0)
+            {
+                connection.markReceived();
+                CerialTelemetry.get()
+                               .bytesRead(count, connection);
+            }
+            return count;
+        }
+        catch (SerialPortException e)
+        {
+            throw new IOException(e.getMessage(), e);
+        }
+        finally
+        {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException
+    {
+        ensureOpen();
+        int total = src.remaining();
+        if (total == 0)
+        {
+            return 0;
+        }
+        try
+        {
+            connection.transmit(src);
+            return total;
+        }
+        catch (SerialPortException e)
+        {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Waits until everything written so far has left the port's output buffer.
+     *
+     * @throws IOException if the buffer does not drain within the connection's write stall timeout
+     */
+    public void drain() throws IOException
+    {
+        try
+        {
+            connection.whenDrained()
+                      .toCompletionStage()
+                      .toCompletableFuture()
+                      .get(connection.getWriteStallTimeoutMillis(), TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread()
+                  .interrupt();
+            throw new InterruptedIOException("Interrupted waiting for '" + connection.getComPortName() + "' to drain");
+        }
+        catch (ExecutionException | TimeoutException e)
+        {
+            throw new IOException("Output of '" + connection.getComPortName() + "' did not drain", e);
+        }
+    }
+
+    @Override
+    public boolean isOpen()
+    {
+        return open;
+    }
+
+    /**
+     * Closes the channel and its streams, returning the connection to framed reads. The port stays open.
+     */
+    @Override
+    public void close()
+    {
+        if (!open)
+        {
+            return;
+        }
+        open = false;
+        readLock.lock();
+        try
+        {
+            if (reading)
+            {
+                reading = false;
+                connection.endRawRead();
+            }
+        }
+        finally
+        {
+            readLock.unlock();
+        }
+        connection.closeChannel(this);
+    }
+
+    /**
+     * Returns a blocking {@link InputStream} over this channel.
+     *
+     * @return the input stream, shared by all callers
+     */
+    public synchronized InputStream inputStream()
+    {
+        if (inputStream == null)
+        {
+            inputStream = new ChannelInputStream();
+        }
+        return inputStream;
+    }
+
+    /**
+     * Returns an {@link OutputStream} over this channel. {@link OutputStream#flush()} waits for the
+     * output buffer to drain.
+     *
+     * @return the output stream, shared by all callers
+     */
+    public synchronized OutputStream outputStream()
+    {
+        if (outputStream == null)
+        {
+            outputStream = new ChannelOutputStream();
+        }
+        return outputStream;
+    }
+
+    private void ensureOpen() throws IOException
+    {
+        if (!open)
+        {
+            throw new ClosedChannelException();
+        }
+    }
+
+    private final class ChannelInputStream extends InputStream
+    {
+        private final byte[] single = new byte[1];
+
+        @Override
+        public int read() throws IOException
+        {
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException
+        {
+            if (len == 0)
+            {
+                return 0;
+            }
+            int count = CerialByteChannel.this.read(ByteBuffer.wrap(b, off, len));
+            if (count == 0)
+            {
+                throw new InterruptedIOException("Read timed out on '" + connection.getComPortName() + "'");
+            }
+            return count;
+        }
+
+        @Override
+        public int available()
+        {
+            SerialPort port = connection.getConnectionPort();
+            return port == null || !port.isOpen() ? 0 : Math.max(0, port.bytesAvailable());
+        }
+
+        @Override
+        public void close()
+        {
+            CerialByteChannel.this.close();
+        }
+    }
+
+    private final class ChannelOutputStream extends OutputStream
+    {
+        private final byte[] single = new byte[1];
+
+        @Override
+        public void write(int b) throws IOException
+        {
+            single[0] = (byte) b;
+            write(single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException
+        {
+            CerialByteChannel.this.write(ByteBuffer.wrap(b, off, len));
+        }
+
+        @Override
+        public void flush() throws IOException
+        {
+            ensureOpen();
+            drain();
+        }
+
+        @Override
+        public void close()
+        {
+            CerialByteChannel.this.close();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.guicedee.cerial.implementations;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-capacity primitive byte ring used by {@link DataSerialPortBytesListener} to frame
+ * incoming data in place.
+ * <p>
+ * Appending never allocates; once the ring is full the oldest byte is overwritten. The ring
+ * also exposes itself as a {@link CharSequence} (ISO-8859-1 view) so regular expressions can
+ * be evaluated over the buffered bytes without first building a {@link String}. A new array is
+ * only created when a frame is extracted with {@link #toArray()} or {@link #toArray(int, int)}.
+ * <p>
+ * Instances are not thread-safe; each listener owns its own ring.
+ */
+public final class CerialByteRing implements CharSequence
+{
+    private byte[] data;
+    /** Physical index of the oldest byte. */
+    private int head;
+    /** Number of bytes currently held. */
+    private int size;
+
+    /**
+     * Creates a ring with the given capacity.
+     *
+     * @param capacity the maximum number of bytes held before the oldest is overwritten
+     */
+    public CerialByteRing(int capacity)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("Ring capacity must be at least 1 byte - " + capacity);
+        }
+        data = new byte[capacity];
+    }
+
+    /**
+     * Returns the maximum number of bytes the ring can hold.
+     *
+     * @return the capacity in bytes
+     */
+    public int capacity()
+    {
+        return data.length;
+    }
+
+    /**
+     * Returns the number of bytes currently buffered.
+     *
+     * @return the buffered byte count
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Indicates whether another append will overwrite the oldest byte.
+     *
+     * @return true when the ring is at capacity
+     */
+    public boolean isFull()
+    {
+        return size == data.length;
+    }
+
+    /**
+     * Appends a byte, overwriting the oldest byte when the ring is full.
+     *
+     * @param b the byte to append
+     * @return true if the oldest byte was overwritten to make room
+     */
+    public boolean append(byte b)
+    {
+        if (size == data.length)
+        {
+            data[head] = b;
+            head = next(head);
+            return true;
+        }
+        data[physical(size)] = b;
+        size++;
+        return false;
+    }
+
+    /**
+     * Returns the byte at a logical position, where {@code 0} is the oldest buffered byte.
+     *
+     * @param index the logical position
+     * @return the byte at that position
+     */
+    public byte get(int index)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for ring of size " + size);
+        }
+        return data[physical(index)];
+    }
+
+    /**
+     * Drops the oldest {@code count} bytes.
+     *
+     * @param count the number of bytes to discard, clamped to the buffered size
+     */
+    public void discard(int count)
+    {
+        if (count >= size)
+        {
+            clear();
+            return;
+        }
+        if (count > 0)
+        {
+            head = physical(count);
+            size -= count;
+        }
+    }
+
+    /**
+     * Removes all buffered bytes without touching the backing array.
+     */
+    public void clear()
+    {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Replaces the backing array with one of a new capacity, keeping the newest bytes that fit.
+     *
+     * @param capacity the new capacity in bytes
+     */
+    public void resize(int capacity)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("Ring capacity must be at least 1 byte - " + capacity);
+        }
+        if (capacity == data.length)
+        {
+            return;
+        }
+        int keep = Math.min(size, capacity);
+        byte[] resized = new byte[capacity];
+        copyInto(size - keep, size, resized, 0);
+        data = resized;
+        head = 0;
+        size = keep;
+    }
+
+    /**
+     * Copies all buffered bytes into a new array.
+     *
+     * @return the buffered bytes, oldest first
+     */
+    public byte[] toArray()
+    {
+        return toArray(0, size);
+    }
+
+    /**
+     * Copies a logical range of buffered bytes into a new array.
+     *
+     * @param from the inclusive start position
+     * @param to   the exclusive end position
+     * @return the bytes in the range
+     */
+    public byte[] toArray(int from, int to)
+    {
+        if (from < 0 || to > size || from > to)
+        {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for ring of size " + size);
+        }
+        byte[] out = new byte[to - from];
+        copyInto(from, to, out, 0);
+        return out;
+    }
+
+    @Override
+    public int length()
+    {
+        return size;
+    }
+
+    @Override
+    public char charAt(int index)
+    {
+        return (char) (get(index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end)
+    {
+        return new String(toArray(start, end), StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString()
+    {
+        return new String(toArray(), StandardCharsets.ISO_8859_1);
+    }
+
+    private void copyInto(int from, int to, byte[] target, int offset)
+    {
+        int length = to - from;
+        if (length == 0)
+        {
+            return;
+        }
+        int start = physical(from);
+        int firstPart = Math.min(length, data.length - start);
+        System.arraycopy(data, start, target, offset, firstPart);
+        if (firstPart < length)
+        {
+            System.arraycopy(data, 0, target, offset + firstPart, length - firstPart);
+        }
+    }
+
+    private int physical(int logical)
+    {
+        int index = head + logical;
+        return index >= data.length ? index - data.length : index;
+    }
+
+    private int next(int index)
+    {
+        return index + 1 == data.length ? 0 : index + 1;
+    }
+}
@@ -0,0 +1,382 @@
+package com.guicedee.cerial.implementations;
+
+import com.fazecast.jSerialComm.SerialPort;
+import com.guicedee.cerial.CerialPortConnection;
+import com.guicedee.cerial.enumerations.DispatchMode;
+import com.guicedee.cerial.enumerations.OverflowPolicy;
+import com.guicedee.client.IGuiceContext;
+import com.guicedee.client.scopes.CallScopeProperties;
+import com.guicedee.client.scopes.CallScopeSource;
+import io.vertx.core.Vertx;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+import static com.guicedee.cerial.enumerations.ComPortStatus.FileTransfer;
+import static com.guicedee.cerial.enumerations.ComPortStatus.Running;
+
+/**
+ * Per-connection mailbox that delivers received frames to the read callback in arrival order.
+ * <p>
+ * Frames are queued by the jSerialComm event thread and drained by at most one thread per
+ * connection at a time, so frames from one port never overtake each other while different ports
+ * still run concurrently. Depending on the connection's {@link DispatchMode} the drain runs on a Vertx
+ * worker or on a virtual thread. A drain hands its thread back after {@link #DRAIN_BATCH} frames, so a
+ * chatty port cannot hold a worker indefinitely or fill the pool with its backlog.
+ * <p>
+ * The queue is bounded by the connection's {@code inboundQueueCapacity}; once full, the connection's
+ * {@link OverflowPolicy} decides whether the reader blocks or frames are dropped. Dropped frames and the
+ * deepest the queue has been are counted.
+ * <p>
+ * Each delivery runs inside a Guice call scope with {@code ComPort} and {@code CerialPortConnection}
+ * populated, as handlers have always expected. Frames are also offered to the connection's
+ * {@link CerialReadStream} if one has been opened; while that stream is paused or full, draining stops
+ * and the queue fills under the overflow policy until the stream {@link #resume()}s it.
+ */
+public class CerialDispatcher
+{
+    /**
+     * Maximum frames delivered by one worker before the drain is rescheduled.
+     */
+    static final int DRAIN_BATCH = 64;
+
+    private final CerialPortConnection<?> connection;
+    private final ConcurrentLinkedQueue<Delivery> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicInteger highWaterMark = new AtomicInteger();
+    private final ReentrantLock spaceLock = new ReentrantLock();
+    private final Condition spaceAvailable = spaceLock.newCondition();
+    private volatile int blockedReaders;
+    private final AtomicLong overflowArrivals = new AtomicLong();
+
+    private record Delivery(byte[] data, SerialPort port, BiConsumer<byte[], SerialPort> reader, long queuedNanos)
+    {
+    }
+
+    /**
+     * Creates the dispatcher for a connection.
+     *
+     * @param connection the owning connection
+     */
+    public CerialDispatcher(CerialPortConnection<?> connection)
+    {
+        this.connection = connection;
+    }
+
+    /**
+     * Queues a received frame for ordered delivery.
+     *
+     * @param data   the frame bytes, owned by the dispatcher from here on
+     * @param port   the serial port the frame arrived on
+     * @param reader the read callback, may be null
+     */
+    public void dispatch(byte[] data, SerialPort port, BiConsumer<byte[], SerialPort> reader)
+    {
+        CerialTelemetry telemetry = CerialTelemetry.get();
+        telemetry.frameReceived(data.length, connection);
+        int depth = reserveSlot();
+        if (depth < 0)
+        {
+            droppedFrames.incrementAndGet();
+            telemetry.frameDropped(connection);
+            CerialFrameReceivedEvent.emit(connection, data.length, queueDepth.get(), true);
+            return;
+        }
+        CerialFrameReceivedEvent.emit(connection, data.length, depth - 1, false);
+        mailbox.add(new Delivery(data, port, reader, System.nanoTime()));
+        if (depth > highWaterMark.get())
+        {
+            highWaterMark.accumulateAndGet(depth, Math::max);
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Reserves a place in the queue for an arriving frame, applying the overflow policy while it is full.
+     * The reservation is a compare-and-set on the depth, so producers on the listener and timing wheel
+     * threads can never take the queue past its capacity between them.
+     *
+     * @return the queue depth including the reserved frame, or -1 if the frame should be dropped
+     */
+    private int reserveSlot()
+    {
+        boolean sampled = false;
+        while (true)
+        {
+            int capacity = connection.getInboundQueueCapacity();
+            int depth = queueDepth.get();
+            if (depth < capacity)
+            {
+                if (queueDepth.compareAndSet(depth, depth + 1))
+                {
+                    return depth + 1;
+                }
+                continue;
+            }
+            switch (connection.getOverflowPolicy())
+            {
+                case Block:
+                    // the timing wheel thread serves every port and must never wait on one of them
+                    if (CerialTimingWheel.shared().inWheelThread() || connection.isShuttingDown()
+                            || Thread.currentThread().isInterrupted())
+                    {
+                        return queueDepth.incrementAndGet();
+                    }
+                    awaitSpace();
+                    break;
+                case DropNewest:
+                    return -1;
+                case Sample:
+                    // count each arrival once, however often it loses the freed place to another producer
+                    if (!sampled && overflowArrivals.incrementAndGet() % Math.max(1, connection.getInboundSampleInterval()) != 0)
+                    {
+                        return -1;
+                    }
+                    sampled = true;
+                    dropOldest();
+                    break;
+                case DropOldest:
+                default:
+                    dropOldest();
+                    break;
+            }
+        }
+    }
+
+    private void dropOldest()
+    {
+        if (mailbox.poll() != null)
+        {
+            queueDepth.decrementAndGet();
+            droppedFrames.incrementAndGet();
+            CerialTelemetry.get()
+                           .frameDropped(connection);
+        }
+        else
+        {
+            // the queue is full of reservations whose frames are still being added
+            Thread.onSpinWait();
+        }
+    }
+
+    private void awaitSpace()
+    {
+        spaceLock.lock();
+        blockedReaders++;
+        try
+        {
+            while (queueDepth.get() >= connection.getInboundQueueCapacity() && !connection.isShuttingDown())
+            {
+                scheduleDrain();
+                spaceAvailable.await(100, TimeUnit.MILLISECONDS);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread()
+                  .interrupt();
+        }
+        finally
+        {
+            blockedReaders--;
+            spaceLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of frames waiting for delivery.
+     *
+     * @return the current queue depth
+     */
+    public int getQueueDepth()
+    {
+        return queueDepth.get();
+    }
+
+    /**
+     * Returns the number of frames discarded by the overflow policy.
+     *
+     * @return the dropped frame count
+     */
+    public long getDroppedFrames()
+    {
+        return droppedFrames.get();
+    }
+
+    /**
+     * Returns the deepest the queue has been since creation or the last reset.
+     *
+     * @return the high-water mark
+     */
+    public int getHighWaterMark()
+    {
+        return highWaterMark.get();
+    }
+
+    /**
+     * Resets the high-water mark to the current queue depth.
+     */
+    public void resetHighWaterMark()
+    {
+        highWaterMark.set(queueDepth.get());
+    }
+
+    private void scheduleDrain()
+    {
+        if (!draining.compareAndSet(false, true))
+        {
+            return;
+        }
+        try
+        {
+            if (connection.getDispatchMode() == DispatchMode.VirtualThread)
+            {
+                Thread.ofVirtual()
+                      .name("cerial-read-" + connection.getComPort())
+                      .start(this::drain);
+            }
+            else
+            {
+                IGuiceContext.get(Vertx.class)
+                             .executeBlocking(() -> {
+                                 drain();
+                                 return null;
+                             }, false);
+            }
+        }
+        catch (Throwable e)
+        {
+            draining.set(false);
+            connection.getLog()
+                      .error("❌ Unable to dispatch received frames on ComPort [{}]: {}", connection.getComPort(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Restarts draining after the read stream has stalled it.
+     */
+    public void resume()
+    {
+        if (!mailbox.isEmpty())
+        {
+            scheduleDrain();
+        }
+    }
+
+    private boolean streamReady()
+    {
+        CerialReadStream stream = connection.getReadStream();
+        return stream == null || stream.isReady();
+    }
+
+    private void drain()
+    {
+        try
+        {
+            Delivery delivery;
+            for (int i = 0; i < DRAIN_BATCH && streamReady() && (delivery = mailbox.poll()) != null; i++)
+            {
+                queueDepth.decrementAndGet();
+                if (blockedReaders > 0)
+                {
+                    signalSpace();
+                }
+                deliver(delivery);
+            }
+        }
+        finally
+        {
+            draining.set(false);
+            // re-checked after clearing the flag so a resume() racing this drain is not lost
+            if (!mailbox.isEmpty() && streamReady())
+            {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private void signalSpace()
+    {
+        spaceLock.lock();
+        try
+        {
+            spaceAvailable.signalAll();
+        }
+        finally
+        {
+            spaceLock.unlock();
+        }
+    }
+
+    private void deliver(Delivery delivery)
+    {
+        CerialTelemetry telemetry = CerialTelemetry.get();
+        long queueNanos = System.nanoTime() - delivery.queuedNanos();
+        telemetry.frameDequeued(queueNanos, connection);
+        CerialFrameDispatchedEvent event = new CerialFrameDispatchedEvent();
+        event.begin();
+        com.guicedee.client.scopes.CallScoper callScoper = null;
+        boolean started = false;
+        try
+        {
+            callScoper = IGuiceContext.get(com.guicedee.client.scopes.CallScoper.class);
+            if (!callScoper.isStartedScope())
+            {
+                callScoper.enter();
+                started = true;
+            }
+            CallScopeProperties properties = IGuiceContext.get(CallScopeProperties.class);
+            if (properties.getSource() == null || properties.getSource() == CallScopeSource.Unknown)
+            {
+                properties.setSource(CallScopeSource.SerialPort);
+            }
+            properties.getProperties()
+                      .put("ComPort", delivery.port());
+            properties.getProperties()
+                      .put("CerialPortConnection", connection);
+            if (connection.getComPortStatus() != FileTransfer)
+            {
+                connection.setComPortStatus(Running);
+            }
+
+            CerialRequestCorrelator requests = connection.getRequestCorrelator();
+            if (requests != null && requests.onFrame(delivery.data()))
+            {
+                telemetry.bytesRead(delivery.data().length, connection);
+                event.finish(connection, delivery.data().length, queueNanos, true);
+                return;
+            }
+            long handling = System.nanoTime();
+            CerialReadStream stream = connection.getReadStream();
+            if (stream != null)
+            {
+                stream.offer(delivery.data());
+            }
+            telemetry.onReceived(delivery.data(), delivery.port(), connection, delivery.reader());
+            telemetry.frameHandled(System.nanoTime() - handling, connection);
+            event.finish(connection, delivery.data().length, queueNanos, false);
+        }
+        catch (Throwable T)
+        {
+            connection.getTrafficLogger()
+                      .failed(false, delivery.data(), 0, delivery.data().length);
+            connection.getLog()
+                      .error("Error on ComPort [" + connection.getComPort() + "] Receipt", T);
+        }
+        finally
+        {
+            if (started && callScoper != null)
+            {
+                callScoper.exit();
+            }
+        }
+    }
+}
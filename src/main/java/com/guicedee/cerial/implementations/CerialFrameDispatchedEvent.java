@@ -0,0 +1,59 @@
+package com.guicedee.cerial.implementations;
+
+import com.guicedee.cerial.CerialPortConnection;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event spanning the delivery of a received frame to the read callback, read stream or
+ * waiting request, including call-scope setup.
+ */
+@Name("com.guicedee.cerial.FrameDispatched")
+@Label("Serial Frame Dispatched")
+@Category({"GuicedEE", "Serial"})
+@Description("A received frame was handed to its consumer")
+@StackTrace(false)
+public class CerialFrameDispatchedEvent extends jdk.jfr.Event
+{
+    @Label("Port")
+    String port;
+
+    @Label("Frame Size")
+    @DataAmount
+    int size;
+
+    @Label("Queue Time")
+    @Description("Time the frame waited between ingress and dispatch")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueTime;
+
+    @Label("Reply")
+    @Description("Whether the frame completed a pending request instead of reaching the read callback")
+    boolean reply;
+
+    /**
+     * Ends the event and records it if enabled.
+     *
+     * @param connection the owning connection
+     * @param size       the frame size in bytes
+     * @param queueNanos the time the frame waited in the queue
+     * @param reply      whether the frame completed a pending request
+     */
+    public void finish(CerialPortConnection<?> connection, int size, long queueNanos, boolean reply)
+    {
+        end();
+        if (shouldCommit())
+        {
+            this.port = connection.getComPortName();
+            this.size = size;
+            this.queueTime = queueNanos;
+            this.reply = reply;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.guicedee.cerial.implementations;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Flow.Publisher} of the frames received on a connection, backed by its {@link CerialReadStream}.
+ * <p>
+ * Demand signalled with {@link Flow.Subscription#request(long)} is passed straight to
+ * {@link CerialReadStream#fetch(long)}, so a slow subscriber throttles the remote device exactly as a
+ * paused read stream does. The publisher is unicast: one subscriber at a time.
+ */
+public class CerialFramePublisher implements Flow.Publisher<byte[]>
+{
+    private final CerialReadStream stream;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Creates a publisher over a read stream.
+     *
+     * @param stream the connection's read stream
+     */
+    public CerialFramePublisher(CerialReadStream stream)
+    {
+        this.stream = stream;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super byte[]> subscriber)
+    {
+        if (!subscribed.compareAndSet(false, true))
+        {
+            subscriber.onSubscribe(new Flow.Subscription()
+            {
+                @Override
+                public void request(long n)
+                {
+                }
+
+                @Override
+                public void cancel()
+                {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Serial frame publisher already has a subscriber"));
+            return;
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        stream.pause();
+        stream.exceptionHandler(error -> {
+                  if (!done.get())
+                  {
+                      subscriber.onError(error);
+                  }
+              })
+              .endHandler(v -> {
+                  if (done.compareAndSet(false, true))
+                  {
+                      subscribed.set(false);
+                      subscriber.onComplete();
+                  }
+              })
+              .frameHandler(frame -> {
+                  if (!done.get())
+                  {
+                      subscriber.onNext(frame);
+                  }
+              });
+        subscriber.onSubscribe(new Flow.Subscription()
+        {
+            @Override
+            public void request(long n)
+            {
+                if (done.get())
+                {
+                    return;
+                }
+                if (n <= 0)
+                {
+                    cancel();
+                    subscriber.onError(new IllegalArgumentException("Subscription request must be positive - " + n));
+                    return;
+                }
+                stream.fetch(n);
+            }
+
+            @Override
+            public void cancel()
+            {
+                if (done.compareAndSet(false, true))
+                {
+                    stream.frameHandler(null)
+                          .exceptionHandler(null)
+                          .endHandler(null);
+                    subscribed.set(false);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.guicedee.cerial.implementations;
+
+import com.guicedee.cerial.CerialPortConnection;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a frame arriving at a connection's {@link CerialDispatcher}.
+ */
+@Name("com.guicedee.cerial.FrameReceived")
+@Label("Serial Frame Received")
+@Category({"GuicedEE", "Serial"})
+@Description("A framed message arrived from a serial port and was offered to the inbound queue")
+@StackTrace(false)
+public class CerialFrameReceivedEvent extends jdk.jfr.Event
+{
+    @Label("Port")
+    String port;
+
+    @Label("Frame Size")
+    @DataAmount
+    int size;
+
+    @Label("Queue Depth")
+    @Description("Frames waiting for delivery when this one arrived")
+    int queueDepth;
+
+    @Label("Dropped")
+    @Description("Whether the overflow policy discarded the frame")
+    boolean dropped;
+
+    /**
+     * Records a received frame if the event is enabled.
+     *
+     * @param connection the owning connection
+     * @param size       the frame size in bytes
+     * @param queueDepth the inbound queue depth on arrival
+     * @param dropped    whether the frame was discarded
+     */
+    public static void emit(CerialPortConnection<?> connection, int size, int queueDepth, boolean dropped)
+    {
+        CerialFrameReceivedEvent event = new CerialFrameReceivedEvent();
+        if (event.shouldCommit())
+        {
+            event.port = connection.getComPortName();
+            event.size = size;
+            event.queueDepth = queueDepth;
+            event.dropped = dropped;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.guicedee.cerial.implementations;
+
+import com.guicedee.cerial.CerialPortConnection;
+import com.guicedee.cerial.enumerations.LineErrorType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a line error reported by the serial driver.
+ */
+@Name("com.guicedee.cerial.LineError")
+@Label("Serial Line Error")
+@Category({"GuicedEE", "Serial"})
+@Description("Parity, framing, overrun or break error reported by a serial driver")
+@StackTrace(false)
+public class CerialLineErrorEvent extends jdk.jfr.Event
+{
+    @Label("Port")
+    String port;
+
+    @Label("Error Type")
+    String errorType;
+
+    @Label("Detail")
+    String detail;
+
+    /**
+     * Records a line error if the event is enabled.
+     *
+     * @param connection the owning connection
+     * @param type       the kind of line error
+     * @param detail     the driver's event description
+     */
+    public static void emit(CerialPortConnection<?> connection, LineErrorType type, String detail)
+    {
+        CerialLineErrorEvent event = new CerialLineErrorEvent();
+        if (event.shouldCommit())
+        {
+            event.port = connection.getComPortName();
+            event.errorType = type.name();
+            event.detail = detail;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.guicedee.cerial.implementations;
+
+import com.guicedee.cerial.enumerations.LineErrorType;
+
+import java.util.EnumMap;
+
+/**
+ * Decides when line errors reported by the driver are frequent enough to justify reconnecting the port.
+ * <p>
+ * Each {@link LineErrorType} is counted in its own sliding window: an error escalates only when it is
+ * the {@code threshold}th of its type within {@code windowNanos}, after which that type's window starts
+ * again. Isolated parity or framing errors from a noisy line are therefore counted and reported but do
+ * not close the port. A threshold of 1 escalates every error. Thresholds may be set per type. Times are
+ * {@link System#nanoTime()} values passed in by the caller.
+ */
+public final class CerialLineErrorPolicy
+{
+    private final EnumMap<LineErrorType, Window> windows = new EnumMap<>(LineErrorType.class);
+    private long windowNanos;
+
+    /**
+     * Tracks the most recent errors of one type in a ring of timestamps sized to the threshold.
+     */
+    private static final class Window
+    {
+        private long[] times;
+        private int next;
+        private int size;
+        private long total;
+        private long escalations;
+
+        private Window(int threshold)
+        {
+            this.times = new long[threshold];
+        }
+    }
+
+    /**
+     * Creates a policy applying the same threshold to every error type.
+     *
+     * @param threshold   the number of errors of one type within the window that escalates
+     * @param windowNanos the window length in nanoseconds
+     */
+    public CerialLineErrorPolicy(int threshold, long windowNanos)
+    {
+        configure(threshold, windowNanos);
+    }
+
+    /**
+     * Sets the threshold of every error type and the window length, restarting all windows.
+     *
+     * @param threshold   the number of errors of one type within the window that escalates
+     * @param windowNanos the window length in nanoseconds
+     */
+    public synchronized void configure(int threshold, long windowNanos)
+    {
+        if (windowNanos <= 0)
+        {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.windowNanos = windowNanos;
+        for (LineErrorType type : LineErrorType.values())
+        {
+            setThreshold(type, threshold);
+        }
+    }
+
+    /**
+     * Sets the threshold of one error type, restarting its window.
+     *
+     * @param type      the error type
+     * @param threshold the number of errors of that type within the window that escalates
+     */
+    public synchronized void setThreshold(LineErrorType type, int threshold)
+    {
+        if (threshold < 1)
+        {
+            throw new IllegalArgumentException("Threshold must be at least 1");
+        }
+        Window window = windows.get(type);
+        if (window == null)
+        {
+            windows.put(type, new Window(threshold));
+        }
+        else
+        {
+            window.times = new long[threshold];
+            window.next = 0;
+            window.size = 0;
+        }
+    }
+
+    /**
+     * Returns the threshold of an error type.
+     *
+     * @param type the error type
+     * @return the number of errors within the window that escalates
+     */
+    public synchronized int getThreshold(LineErrorType type)
+    {
+        return windows.get(type).times.length;
+    }
+
+    /**
+     * Returns the window length.
+     *
+     * @return the window in nanoseconds
+     */
+    public synchronized long getWindowNanos()
+    {
+        return windowNanos;
+    }
+
+    /**
+     * Records an error.
+     *
+     * @param type the error type
+     * @param now  the current {@link System#nanoTime()}
+     * @return true if the error crosses its type's threshold and the port should be reconnected
+     */
+    public synchronized boolean record(LineErrorType type, long now)
+    {
+        Window window = windows.get(type);
+        window.total++;
+        long[] times = window.times;
+        times[window.next] = now;
+        window.next = (window.next + 1) % times.length;
+        window.size = Math.min(window.size + 1, times.length);
+        // once full, the slot about to be overwritten holds the oldest of the last threshold errors
+        if (window.size == times.length && now - times[window.next] <= windowNanos)
+        {
+            window.escalations++;
+            window.next = 0;
+            window.size = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Counts the errors of a type still inside the window.
+     *
+     * @param type the error type
+     * @param now  the current {@link System#nanoTime()}
+     * @return the recent error count, at most the type's threshold
+     */
+    public synchronized int getRecent(LineErrorType type, long now)
+    {
+        Window window = windows.get(type);
+        int recent = 0;
+        for (int i = 1; i <= window.size; i++)
+        {
+            long time = window.times[Math.floorMod(window.next - i, window.times.length)];
+            if (now - time <= windowNanos)
+            {
+                recent++;
+            }
+        }
+        return recent;
+    }
+
+    /**
+     * Returns how many errors of a type have been recorded.
+     *
+     * @param type the error type
+     * @return the total error count
+     */
+    public synchronized long getTotal(LineErrorType type)
+    {
+        return windows.get(type).total;
+    }
+
+    /**
+     * Returns how many errors have been recorded across all types.
+     *
+     * @return the total error count
+     */
+    public synchronized long getTotal()
+    {
+        long total = 0;
+        for (Window window : windows.values())
+        {
+            total += window.total;
+        }
+        return total;
+    }
+
+    /**
+     * Returns how many times errors of a type have escalated.
+     *
+     * @param type the error type
+     * @return the escalation count
+     */
+    public synchronized long getEscalations(LineErrorType type)
+    {
+        return windows.get(type).escalations;
+    }
+}
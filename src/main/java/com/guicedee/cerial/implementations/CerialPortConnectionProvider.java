@@ -2,10 +2,12 @@ package com.guicedee.cerial.implementations;
 
 import com.google.inject.Provider;
 import com.guicedee.cerial.CerialPortConnection;
-import com.guicedee.cerial.enumerations.BaudRate;
+import com.guicedee.cerial.CerialPortFactory;
+import com.guicedee.client.IGuiceContext;
 
 /**
- * Guice provider that creates a {@link CerialPortConnection} for a specific COM port.
+ * Guice provider that resolves the {@link CerialPortConnection} for a specific COM port through the
+ * {@link CerialPortFactory}, so each port yields the same connection however it is obtained.
  */
 public class CerialPortConnectionProvider implements Provider<CerialPortConnection>
 {
@@ -21,15 +23,15 @@ public class CerialPortConnectionProvider implements Provider<CerialPortConnecti
         this.comPortNumber = comPortNumber;
     }
     /**
-     * Builds a new connection using a default baud rate.
+     * Returns the factory's connection for the port, creating it with the default baud rate on first use.
      *
-     * @return a new {@link CerialPortConnection} instance
+     * @return the shared {@link CerialPortConnection} instance
      */
     @Override
     public CerialPortConnection get()
     {
-        CerialPortConnection cerialPortConnection = new CerialPortConnection(comPortNumber, BaudRate.$9600);
-        return cerialPortConnection;
+        return IGuiceContext.get(CerialPortFactory.class)
+                            .get(comPortNumber);
     }
 
 }
@@ -2,39 +2,212 @@ package com.guicedee.cerial.implementations;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Key;
-import com.google.inject.Singleton;
 import com.google.inject.name.Names;
 import com.guicedee.cerial.CerialPortConnection;
+import com.guicedee.cerial.CerialPortFactory;
+import com.guicedee.client.IGuiceContext;
 import com.guicedee.client.services.lifecycle.IGuiceModule;
+import io.github.classgraph.AnnotationInfo;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ClassRefTypeSignature;
+import io.github.classgraph.FieldInfo;
+import io.github.classgraph.MethodInfo;
+import io.github.classgraph.MethodParameterInfo;
+import io.github.classgraph.ScanResult;
+import io.github.classgraph.TypeSignature;
 import lombok.extern.java.Log;
 
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
 /**
- * Guice module that binds a range of serial port connections by port number.
- * Each binding uses a provider that constructs the connection on demand and scopes
- * it as a singleton for that named port.
+ * Guice module that binds serial port connections by port number.
+ * <p>
+ * Connections come from the {@link CerialPortFactory}, which creates them on first use and keeps one per
+ * port. {@code @Named("N")} bindings are only added for the ports listed in the {@value #PORTS_PROPERTY}
+ * system property (or the {@code CERIAL_PORTS} environment variable), as a comma-separated list of
+ * numbers and ranges such as {@code 1-4,98}. Other ports are reached through the factory.
+ * <p>
+ * Setting {@value #SCAN_PROPERTY} (or {@code CERIAL_SCAN_INJECTION_POINTS}) to {@code true} also binds
+ * the ports named at {@code CerialPortConnection} field, constructor or method injection points found in
+ * the classpath scan. This is off by default because {@link CerialScanConfigurator} must then add field
+ * and method information to the application's whole scan. If the scan cannot be read, startup fails
+ * rather than binding every port.
  */
 @Log
 public class CerialPortsBindings extends AbstractModule implements IGuiceModule<CerialPortsBindings>
 {
     /**
-     * Creates a new serial port bindings module.
+     * System property listing additional ports to bind by name.
+     */
+    public static final String PORTS_PROPERTY = "cerial.ports";
+
+    /**
+     * System property that turns on binding the ports named at scanned injection points.
+     */
+    public static final String SCAN_PROPERTY = "cerial.scanInjectionPoints";
+
+    private static final List<String> NAMED_ANNOTATIONS = List.of("com.google.inject.name.Named", "jakarta.inject.Named");
+
+    private final ScanResult scanResult;
+
+    /**
+     * Creates a new serial port bindings module, using the application's classpath scan if
+     * {@value #SCAN_PROPERTY} is set.
      */
     public CerialPortsBindings() {
+        this(null);
+    }
+
+    /**
+     * Creates a serial port bindings module over a given classpath scan, for custom bootstraps and tests.
+     * A given scan is always searched for injection points.
+     *
+     * @param scanResult the scan to find {@code @Named} injection points in, or null to use the application's
+     *                   scan if {@value #SCAN_PROPERTY} is set
+     */
+    public CerialPortsBindings(ScanResult scanResult) {
+        this.scanResult = scanResult;
     }
 
     /**
-     * Registers bindings for a wide range of serial port numbers.
+     * Binds the connection factory and the named ports in use.
      */
     @Override
     protected void configure()
     {
-        for (int i = 0; i < 1000; i++)
+        bind(CerialPortFactory.class).asEagerSingleton();
+        Set<Integer> ports = new TreeSet<>(configuredPorts());
+        if (scanResult != null || isScanEnabled())
+        {
+            try
+            {
+                ports.addAll(injectedPorts(scanResult != null ? scanResult : IGuiceContext.instance()
+                                                                                          .getScanResult()));
+            }
+            catch (RuntimeException e)
+            {
+                // ClassGraph rejects field and method queries when the scan ran without that information
+                throw new IllegalStateException("Unable to read @Named serial port injection points from the classpath scan ("
+                        + e.getMessage() + ") - check that CerialScanConfigurator is loaded, or unset " + SCAN_PROPERTY
+                        + " and list the ports in " + PORTS_PROPERTY, e);
+            }
+        }
+        for (Integer port : ports)
+        {
+            bind(Key.get(CerialPortConnection.class, Names.named(port + ""))).toProvider(new CerialPortConnectionProvider(port));
+        }
+        log.fine("Bound " + ports.size() + " named serial port(s) to the connection factory");
+    }
+
+    /**
+     * Finds the port numbers named at {@code CerialPortConnection} injection points.
+     *
+     * @param scanResult the application's classpath scan
+     * @return the named port numbers
+     */
+    static Set<Integer> injectedPorts(ScanResult scanResult)
+    {
+        Set<Integer> ports = new TreeSet<>();
+        for (String annotation : NAMED_ANNOTATIONS)
         {
-            bind(Key.get(CerialPortConnection.class, Names.named(i + ""))).toProvider(new CerialPortConnectionProvider(i))
-                                                                          .in(Singleton.class);
+            for (ClassInfo classInfo : scanResult.getClassesWithFieldAnnotation(annotation))
+            {
+                for (FieldInfo field : classInfo.getDeclaredFieldInfo())
+                {
+                    addPort(ports, field.getAnnotationInfo(annotation), field.getTypeDescriptor());
+                }
+            }
+            for (ClassInfo classInfo : scanResult.getClassesWithMethodParameterAnnotation(annotation))
+            {
+                for (MethodInfo method : classInfo.getDeclaredMethodAndConstructorInfo())
+                {
+                    for (MethodParameterInfo parameter : method.getParameterInfo())
+                    {
+                        addPort(ports, parameter.getAnnotationInfo(annotation), parameter.getTypeDescriptor());
+                    }
+                }
+            }
         }
-        log.fine("Bound the collection of possible serial port numbers to a dynamic singleton provider");
+        return ports;
     }
 
+    private static void addPort(Set<Integer> ports, AnnotationInfo named, TypeSignature type)
+    {
+        if (named == null || !(type instanceof ClassRefTypeSignature classRef)
+                || !CerialPortConnection.class.getName()
+                                              .equals(classRef.getBaseClassName()))
+        {
+            return;
+        }
+        Object value = named.getParameterValues()
+                            .getValue("value");
+        try
+        {
+            ports.add(Integer.parseInt(String.valueOf(value)
+                                             .trim()));
+        }
+        catch (NumberFormatException e)
+        {
+            log.warning("Ignoring @Named(\"" + value + "\") CerialPortConnection - the name must be a port number");
+        }
+    }
+
+    /**
+     * Indicates whether ports named at scanned injection points are bound.
+     *
+     * @return true if {@value #SCAN_PROPERTY} or {@code CERIAL_SCAN_INJECTION_POINTS} is {@code true}
+     */
+    public static boolean isScanEnabled()
+    {
+        return Boolean.parseBoolean(System.getProperty(SCAN_PROPERTY, System.getenv("CERIAL_SCAN_INJECTION_POINTS")));
+    }
+
+    private static Set<Integer> configuredPorts()
+    {
+        String value = System.getProperty(PORTS_PROPERTY, System.getenv("CERIAL_PORTS"));
+        return value == null ? Set.of() : parsePorts(value);
+    }
 
+    /**
+     * Parses a comma-separated list of port numbers and inclusive ranges, such as {@code 1-4,98}.
+     *
+     * @param value the port list
+     * @return the port numbers
+     * @throws IllegalArgumentException if an entry is not a number or range
+     */
+    static Set<Integer> parsePorts(String value)
+    {
+        Set<Integer> ports = new TreeSet<>();
+        for (String entry : value.split(","))
+        {
+            String item = entry.trim();
+            if (item.isEmpty())
+            {
+                continue;
+            }
+            int dash = item.indexOf('-', 1);
+            try
+            {
+                int from = Integer.parseInt(dash < 0 ? item : item.substring(0, dash)
+                                                                  .trim());
+                int to = dash < 0 ? from : Integer.parseInt(item.substring(dash + 1)
+                                                                .trim());
+                if (from < 0 || to < from)
+                {
+                    throw new IllegalArgumentException("Invalid port range '" + item + "' in " + PORTS_PROPERTY);
+                }
+                for (int port = from; port <= to; port++)
+                {
+                    ports.add(port);
+                }
+            }
+            catch (NumberFormatException e)
+            {
+                throw new IllegalArgumentException("Invalid port '" + item + "' in " + PORTS_PROPERTY, e);
+            }
+        }
+        return ports;
+    }
 }
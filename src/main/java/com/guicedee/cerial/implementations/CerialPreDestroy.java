@@ -3,9 +3,18 @@ package com.guicedee.cerial.implementations;
 import com.guicedee.cerial.CerialConnectionRegistry;
 import com.guicedee.cerial.CerialPortConnection;
 import com.guicedee.client.services.lifecycle.IGuicePreDestroy;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Closes all active {@link CerialPortConnection} instances on application shutdown.
@@ -13,10 +22,23 @@ import java.util.Set;
  * A single service iterates the {@link CerialConnectionRegistry} rather than each
  * connection registering itself as a pre-destroy service, which previously caused the
  * pre-destroy set to grow without bound.
+ * <p>
+ * Connections are closed concurrently, each on its own virtual thread, and the whole
+ * shutdown waits at most {@link #shutdownTimeoutMillis}, so a handful of stuck adapters
+ * cost one deadline rather than one close timeout each. Ports that fail or are still
+ * closing when the deadline passes are reported and abandoned.
  */
 @Log4j2
 public class CerialPreDestroy implements IGuicePreDestroy<CerialPreDestroy>
 {
+    /**
+     * Maximum time, in milliseconds, to wait for all connections to close. Defaults to the
+     * {@code cerial.shutdownTimeoutMillis} system property, or 5000.
+     */
+    @Getter
+    @Setter
+    private static long shutdownTimeoutMillis = Long.getLong("cerial.shutdownTimeoutMillis", 5000L);
+
     @Override
     public void onDestroy()
     {
@@ -24,19 +46,73 @@ public class CerialPreDestroy implements IGuicePreDestroy<CerialPreDestroy>
         Set<CerialPortConnection<?>> connections = Set.copyOf(CerialConnectionRegistry.getActiveConnections());
         log.info("🛑 Shutting down {} serial port connection(s)...", connections.size());
 
+        Map<CerialPortConnection<?>, String> failed = closeAll(connections, shutdownTimeoutMillis);
+        if (failed.isEmpty())
+        {
+            log.info("✅ Serial port connection shutdown complete.");
+        }
+        else
+        {
+            List<String> report = new ArrayList<>();
+            failed.forEach((connection, reason) -> report.add(connection.getComPort() + " (" + reason + ")"));
+            log.warn("⚠️ Serial port connection shutdown finished with {} port(s) not closed cleanly: {}", failed.size(), report);
+        }
+    }
+
+    /**
+     * Closes connections concurrently under one deadline.
+     *
+     * @param connections   the connections to close
+     * @param timeoutMillis the time allowed for all of them to close
+     * @return the connections that threw or had not closed by the deadline, with the reason, in no particular order
+     */
+    public static Map<CerialPortConnection<?>, String> closeAll(Collection<? extends CerialPortConnection<?>> connections, long timeoutMillis)
+    {
+        Map<CerialPortConnection<?>, String> failed = new ConcurrentHashMap<>();
+        Map<CerialPortConnection<?>, Thread> closers = new LinkedHashMap<>();
         for (CerialPortConnection<?> connection : connections)
+        {
+            closers.put(connection, Thread.ofVirtual()
+                                          .name("cerial-destroy-" + connection.getComPort())
+                                          .start(() -> {
+                                              try
+                                              {
+                                                  connection.onDestroy();
+                                              }
+                                              catch (Throwable t)
+                                              {
+                                                  log.error("❌ Failed to close serial port connection {}: {}", connection.getComPort(), t.getMessage(), t);
+                                                  failed.put(connection, "failed: " + t.getMessage());
+                                              }
+                                          }));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMillis));
+        for (Map.Entry<CerialPortConnection<?>, Thread> closer : closers.entrySet())
         {
             try
             {
-                connection.onDestroy();
+                long remaining = deadline - System.nanoTime();
+                if (remaining > 0)
+                {
+                    closer.getValue()
+                          .join(TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+                }
             }
-            catch (Throwable t)
+            catch (InterruptedException e)
             {
-                log.error("❌ Failed to close serial port connection: {}", t.getMessage(), t);
+                Thread.currentThread()
+                      .interrupt();
+                break;
             }
         }
-
-        log.info("✅ Serial port connection shutdown complete.");
+        closers.forEach((connection, thread) -> {
+            if (thread.isAlive())
+            {
+                failed.putIfAbsent(connection, "did not close within " + timeoutMillis + "ms");
+            }
+        });
+        return failed;
     }
 
     @Override
@@ -45,4 +121,3 @@ public class CerialPreDestroy implements IGuicePreDestroy<CerialPreDestroy>
         return Integer.MAX_VALUE - 100;
     }
 }
-
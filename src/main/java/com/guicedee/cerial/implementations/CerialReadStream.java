@@ -0,0 +1,303 @@
+package com.guicedee.cerial.implementations;
+
+import com.guicedee.cerial.CerialPortConnection;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Vert.x {@link ReadStream} of the frames received on a connection.
+ * <p>
+ * Frames are tapped from the connection's {@link CerialDispatcher} after the read callback and handed to
+ * the stream handler on the Vert.x context that created the stream, honouring {@link #pause()},
+ * {@link #resume()} and {@link #fetch(long)}. The stream buffers at most {@link #highWaterMark} frames:
+ * while it is paused or full it reports itself not {@link #isReady() ready} and the dispatcher stops
+ * draining the connection's inbound queue, so frames back up there under the connection's
+ * {@link com.guicedee.cerial.enumerations.OverflowPolicy} instead of growing the heap. The dispatcher is
+ * {@link CerialDispatcher#resume() resumed} once demand returns. A full buffer also asks the remote device
+ * to stop sending through the connection's flow control
+ * ({@link CerialPortConnection#throttleReceive(boolean)}), releasing it when the buffer drains to
+ * {@link #lowWaterMark}.
+ * <p>
+ * Because the inbound queue is shared, a paused stream also holds back the read callback and request
+ * replies of the connection.
+ * <p>
+ * The stream carries no frames until a handler is set, and ends when the connection is destroyed.
+ */
+public class CerialReadStream implements ReadStream<Buffer>
+{
+    private final CerialPortConnection<?> connection;
+    private final Context context;
+    private final ArrayDeque<byte[]> pending = new ArrayDeque<>();
+
+    private int highWaterMark = 256;
+    private int lowWaterMark = 64;
+
+    private Consumer<byte[]> frameHandler;
+    private Handler<Throwable> exceptionHandler;
+    private Handler<Void> endHandler;
+    private long demand = Long.MAX_VALUE;
+    private boolean throttled;
+    private boolean ended;
+
+    /**
+     * Creates the read stream of a connection, delivering on the given context.
+     *
+     * @param connection the owning connection
+     * @param context    the context handlers are called on
+     */
+    public CerialReadStream(CerialPortConnection<?> connection, Context context)
+    {
+        this.connection = connection;
+        this.context = context;
+    }
+
+    /**
+     * Sets the queued frame count at which the stream stops taking frames and the remote device is throttled.
+     *
+     * @param highWaterMark the high-water mark in frames
+     * @return this stream
+     */
+    public synchronized CerialReadStream setHighWaterMark(int highWaterMark)
+    {
+        this.highWaterMark = highWaterMark;
+        return this;
+    }
+
+    /**
+     * Sets the queued frame count at which a throttled remote device is released.
+     *
+     * @param lowWaterMark the low-water mark in frames
+     * @return this stream
+     */
+    public synchronized CerialReadStream setLowWaterMark(int lowWaterMark)
+    {
+        this.lowWaterMark = lowWaterMark;
+        return this;
+    }
+
+    /**
+     * Returns the number of frames waiting for demand.
+     *
+     * @return the queued frame count
+     */
+    public synchronized int size()
+    {
+        return pending.size();
+    }
+
+    /**
+     * Indicates whether the stream can take another frame: it has no handler, has ended, or has demand and
+     * fewer than {@link #highWaterMark} frames buffered.
+     *
+     * @return true if the dispatcher may offer the next frame
+     */
+    public synchronized boolean isReady()
+    {
+        return frameHandler == null || ended || (demand > 0 && pending.size() < highWaterMark);
+    }
+
+    @Override
+    public CerialReadStream handler(Handler<Buffer> handler)
+    {
+        return frameHandler(handler == null ? null : frame -> handler.handle(Buffer.buffer(frame)));
+    }
+
+    /**
+     * Sets a handler receiving frames as raw byte arrays, used in place of {@link #handler(Handler)}.
+     *
+     * @param handler the frame handler, or null to stop receiving
+     * @return this stream
+     */
+    public synchronized CerialReadStream frameHandler(Consumer<byte[]> handler)
+    {
+        this.frameHandler = handler;
+        if (handler == null)
+        {
+            pending.clear();
+            release();
+            resumeDispatcher();
+        }
+        return this;
+    }
+
+    @Override
+    public synchronized CerialReadStream exceptionHandler(Handler<Throwable> handler)
+    {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public synchronized CerialReadStream endHandler(Handler<Void> endHandler)
+    {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    @Override
+    public synchronized CerialReadStream pause()
+    {
+        demand = 0;
+        return this;
+    }
+
+    @Override
+    public CerialReadStream resume()
+    {
+        return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public CerialReadStream fetch(long amount)
+    {
+        if (amount < 0)
+        {
+            throw new IllegalArgumentException("Fetch amount must be positive - " + amount);
+        }
+        synchronized (this)
+        {
+            demand = demand + amount < 0 ? Long.MAX_VALUE : demand + amount;
+        }
+        context.runOnContext(v -> deliverPending());
+        return this;
+    }
+
+    /**
+     * Offers a received frame to the stream. The dispatcher only offers frames while the stream
+     * {@link #isReady() is ready}, which keeps the buffer within {@link #highWaterMark}.
+     *
+     * @param frame the frame bytes
+     */
+    void offer(byte[] frame)
+    {
+        synchronized (this)
+        {
+            if (frameHandler == null || ended)
+            {
+                return;
+            }
+            pending.add(frame);
+            if (!throttled && pending.size() >= highWaterMark)
+            {
+                throttled = true;
+                connection.throttleReceive(true);
+            }
+        }
+        context.runOnContext(v -> deliverPending());
+    }
+
+    /**
+     * Reports a connection failure to the exception handler.
+     *
+     * @param error the failure
+     */
+    public void fail(Throwable error)
+    {
+        Handler<Throwable> handler;
+        synchronized (this)
+        {
+            handler = exceptionHandler;
+        }
+        if (handler != null)
+        {
+            context.runOnContext(v -> handler.handle(error));
+        }
+    }
+
+    /**
+     * Ends the stream once the queued frames have been delivered.
+     */
+    public void end()
+    {
+        synchronized (this)
+        {
+            if (ended)
+            {
+                return;
+            }
+            ended = true;
+        }
+        resumeDispatcher();
+        context.runOnContext(v -> deliverPending());
+    }
+
+    private void deliverPending()
+    {
+        while (true)
+        {
+            byte[] frame;
+            Consumer<byte[]> handler;
+            synchronized (this)
+            {
+                handler = frameHandler;
+                if (handler == null || demand == 0 || pending.isEmpty())
+                {
+                    break;
+                }
+                frame = pending.poll();
+                if (demand != Long.MAX_VALUE)
+                {
+                    demand--;
+                }
+                if (throttled && pending.size() <= lowWaterMark)
+                {
+                    release();
+                }
+            }
+            try
+            {
+                handler.accept(frame);
+            }
+            catch (Throwable e)
+            {
+                Handler<Throwable> errors = exceptionHandler;
+                if (errors != null)
+                {
+                    errors.handle(e);
+                }
+                else
+                {
+                    connection.getLog()
+                              .error("❌ Read stream handler failed on ComPort [{}]: {}", connection.getComPort(), e.getMessage(), e);
+                }
+            }
+        }
+        if (isReady())
+        {
+            resumeDispatcher();
+        }
+        Handler<Void> onEnd = null;
+        synchronized (this)
+        {
+            if (ended && pending.isEmpty() && endHandler != null)
+            {
+                onEnd = endHandler;
+                endHandler = null;
+            }
+        }
+        if (onEnd != null)
+        {
+            onEnd.handle(null);
+        }
+    }
+
+    private void resumeDispatcher()
+    {
+        connection.getDispatcher()
+                  .resume();
+    }
+
+    private void release()
+    {
+        if (throttled)
+        {
+            throttled = false;
+            connection.throttleReceive(false);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.guicedee.cerial.implementations;
+
+import com.guicedee.cerial.CerialPortConnection;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event spanning a scheduled reconnect attempt. The event duration is the time taken
+ * by {@code connect()}.
+ */
+@Name("com.guicedee.cerial.Reconnect")
+@Label("Serial Reconnect")
+@Category({"GuicedEE", "Serial"})
+@Description("A scheduled attempt to reopen a serial port")
+@StackTrace(false)
+public class CerialReconnectEvent extends jdk.jfr.Event
+{
+    @Label("Port")
+    String port;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Backoff")
+    @Description("Delay before the attempt")
+    @Timespan(Timespan.SECONDS)
+    long backoff;
+
+    @Label("Reason")
+    String reason;
+
+    @Label("Connected")
+    boolean connected;
+
+    /**
+     * Ends the event and records it if enabled.
+     *
+     * @param connection   the owning connection
+     * @param attempt      the attempt number
+     * @param delaySeconds the backoff before the attempt
+     * @param reason       why the reconnect was scheduled
+     * @param connected    whether the port opened
+     */
+    public void finish(CerialPortConnection<?> connection, int attempt, long delaySeconds, String reason, boolean connected)
+    {
+        end();
+        if (shouldCommit())
+        {
+            this.port = connection.getComPortName();
+            this.attempt = attempt;
+            this.backoff = delaySeconds;
+            this.reason = reason;
+            this.connected = connected;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.guicedee.cerial.implementations;
+
+import com.guicedee.cerial.CerialPortConnection;
+import com.guicedee.cerial.SerialPortException;
+import com.guicedee.client.IGuiceContext;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Correlates replies with outstanding requests on one connection.
+ * <p>
+ * Up to {@code maxInFlightRequests} requests are written without waiting for their replies, so devices
+ * that pipeline commands can be kept busy; further requests wait their turn. Each received frame is
+ * offered to the in-flight requests oldest first, and the first whose reply matcher accepts it is
+ * completed with it. A matched reply is consumed: it does not also reach the read callback or stream.
+ * <p>
+ * Timeouts run on the shared {@link CerialTimingWheel} and start once the request has been written.
+ * Latency from send to reply is recorded with the active {@link CerialTelemetry}.
+ */
+public class CerialRequestCorrelator
+{
+    private final CerialPortConnection<?> connection;
+    private final ArrayDeque<PendingRequest> inFlight = new ArrayDeque<>();
+    private final ArrayDeque<PendingRequest> waiting = new ArrayDeque<>();
+
+    private static final class PendingRequest
+    {
+        private final byte[] payload;
+        private final Predicate<byte[]> replyMatcher;
+        private final long timeoutNanos;
+        private final Promise<byte[]> promise = Promise.promise();
+        private long sentNanos;
+        private CerialTimingWheel.Timeout timeout;
+
+        private PendingRequest(byte[] payload, Predicate<byte[]> replyMatcher, long timeoutNanos)
+        {
+            this.payload = payload;
+            this.replyMatcher = replyMatcher;
+            this.timeoutNanos = timeoutNanos;
+        }
+    }
+
+    /**
+     * Creates the correlator for a connection.
+     *
+     * @param connection the owning connection
+     */
+    public CerialRequestCorrelator(CerialPortConnection<?> connection)
+    {
+        this.connection = connection;
+    }
+
+    /**
+     * Sends a request and waits for the first received frame the matcher accepts.
+     *
+     * @param payload      the encoded request, owned by the correlator from here on
+     * @param replyMatcher accepts the frame that answers this request
+     * @param timeout      how long to wait for the reply once the request is written
+     * @return a future completed with the reply, or failed on timeout or write failure
+     */
+    public Future<byte[]> request(byte[] payload, Predicate<byte[]> replyMatcher, Duration timeout)
+    {
+        PendingRequest request = new PendingRequest(payload, replyMatcher, timeout.toNanos());
+        boolean send;
+        synchronized (this)
+        {
+            send = inFlight.size() < Math.max(1, connection.getMaxInFlightRequests());
+            if (send)
+            {
+                inFlight.add(request);
+            }
+            else
+            {
+                waiting.add(request);
+            }
+        }
+        if (send)
+        {
+            send(request);
+        }
+        return request.promise.future();
+    }
+
+    /**
+     * Returns the number of requests written and awaiting a reply.
+     *
+     * @return the in-flight request count
+     */
+    public synchronized int getInFlight()
+    {
+        return inFlight.size();
+    }
+
+    /**
+     * Returns the number of requests waiting for a free slot in the in-flight window.
+     *
+     * @return the waiting request count
+     */
+    public synchronized int getWaiting()
+    {
+        return waiting.size();
+    }
+
+    /**
+     * Offers a received frame to the in-flight requests.
+     *
+     * @param frame the received frame
+     * @return true if the frame answered a request and was consumed
+     */
+    public boolean onFrame(byte[] frame)
+    {
+        PendingRequest matched = null;
+        synchronized (this)
+        {
+            if (inFlight.isEmpty())
+            {
+                return false;
+            }
+            for (Iterator<PendingRequest> it = inFlight.iterator(); it.hasNext(); )
+            {
+                PendingRequest request = it.next();
+                if (request.replyMatcher.test(frame))
+                {
+                    it.remove();
+                    matched = request;
+                    break;
+                }
+            }
+        }
+        if (matched == null)
+        {
+            return false;
+        }
+        if (matched.timeout != null)
+        {
+            matched.timeout.cancel();
+        }
+        CerialTelemetry.get()
+                       .requestCompleted(System.nanoTime() - matched.sentNanos, connection);
+        matched.promise.tryComplete(frame);
+        promote();
+        return true;
+    }
+
+    /**
+     * Fails every outstanding and waiting request, used when the connection is shut down.
+     *
+     * @param error the failure reported to the callers
+     */
+    public void failAll(Throwable error)
+    {
+        List<PendingRequest> failed;
+        synchronized (this)
+        {
+            failed = new ArrayList<>(inFlight);
+            failed.addAll(waiting);
+            inFlight.clear();
+            waiting.clear();
+        }
+        for (PendingRequest request : failed)
+        {
+            if (request.timeout != null)
+            {
+                request.timeout.cancel();
+            }
+            request.promise.tryFail(error);
+        }
+    }
+
+    private void send(PendingRequest request)
+    {
+        request.sentNanos = System.nanoTime();
+        connection.writeAsync(request.payload)
+                  .onComplete(written -> {
+                      if (written.failed())
+                      {
+                          fail(request, written.cause());
+                          return;
+                      }
+                      synchronized (this)
+                      {
+                          if (!inFlight.contains(request))
+                          {
+                              return;
+                          }
+                          request.timeout = CerialTimingWheel.shared()
+                                                             .schedule(() -> onTimeout(request), request.timeoutNanos, TimeUnit.NANOSECONDS);
+                      }
+                  });
+    }
+
+    private void onTimeout(PendingRequest request)
+    {
+        // runs on the timing wheel thread; caller callbacks are moved off it
+        IGuiceContext.get(Vertx.class)
+                     .runOnContext(v -> fail(request, new SerialPortException("Request on '" + connection.getComPortName() + "' timed out after "
+                                                                                      + TimeUnit.NANOSECONDS.toMillis(request.timeoutNanos) + "ms")));
+    }
+
+    private void fail(PendingRequest request, Throwable error)
+    {
+        boolean removed;
+        synchronized (this)
+        {
+            removed = inFlight.remove(request);
+        }
+        if (removed)
+        {
+            request.promise.tryFail(error);
+            promote();
+        }
+    }
+
+    private void promote()
+    {
+        PendingRequest next;
+        synchronized (this)
+        {
+            if (waiting.isEmpty() || inFlight.size() >= Math.max(1, connection.getMaxInFlightRequests()))
+            {
+                return;
+            }
+            next = waiting.poll();
+            inFlight.add(next);
+        }
+        send(next);
+    }
+}
@@ -0,0 +1,37 @@
+package com.guicedee.cerial.implementations;
+
+import com.guicedee.client.services.IGuiceConfig;
+import com.guicedee.client.services.lifecycle.IGuiceConfigurator;
+
+/**
+ * Turns on the classpath scan details {@link CerialPortsBindings} needs to find {@code @Named}
+ * {@code CerialPortConnection} injection points: annotation, field and method information, including
+ * non-public fields and methods, which is where injected members usually live.
+ * <p>
+ * These make the whole application's scan slower and larger, so the scan is left untouched unless
+ * {@link CerialPortsBindings#SCAN_PROPERTY} is set.
+ */
+public class CerialScanConfigurator implements IGuiceConfigurator
+{
+    /**
+     * Creates the scan configurator.
+     */
+    public CerialScanConfigurator()
+    {
+    }
+
+    @Override
+    public IGuiceConfig<?> configure(IGuiceConfig<?> config)
+    {
+        if (!CerialPortsBindings.isScanEnabled())
+        {
+            return config;
+        }
+        config.setAnnotationScanning(true)
+              .setFieldInfo(true)
+              .setMethodInfo(true)
+              .setIgnoreFieldVisibility(true)
+              .setIgnoreMethodVisibility(true);
+        return config;
+    }
+}
@@ -0,0 +1,48 @@
+package com.guicedee.cerial.implementations;
+
+import com.guicedee.cerial.CerialPortConnection;
+import com.guicedee.cerial.enumerations.ComPortStatus;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a connection changing its {@link ComPortStatus}.
+ */
+@Name("com.guicedee.cerial.StatusChange")
+@Label("Serial Status Change")
+@Category({"GuicedEE", "Serial"})
+@Description("A serial connection moved to a new status")
+@StackTrace(false)
+public class CerialStatusChangeEvent extends jdk.jfr.Event
+{
+    @Label("Port")
+    String port;
+
+    @Label("From")
+    String from;
+
+    @Label("To")
+    String to;
+
+    /**
+     * Records a status transition if the event is enabled.
+     *
+     * @param connection the owning connection
+     * @param from       the previous status, may be null
+     * @param to         the new status
+     */
+    public static void emit(CerialPortConnection<?> connection, ComPortStatus from, ComPortStatus to)
+    {
+        CerialStatusChangeEvent event = new CerialStatusChangeEvent();
+        if (event.shouldCommit())
+        {
+            event.port = connection.getComPortName();
+            event.from = from == null ? null : from.name();
+            event.to = to == null ? null : to.name();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,822 @@
+package com.guicedee.cerial.implementations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Incremental byte-oriented pattern matcher used for {@link DataSerialPortBytesListener.Mode#Pattern} framing.
+ * <p>
+ * The configured expression is compiled once into a Thompson NFA which is then simulated one byte at a
+ * time (a Pike VM). Match state is carried across bytes and across received chunks, so each byte costs
+ * time proportional to the size of the compiled expression only - never to the amount of buffered data.
+ * {@link #feed(byte)} reports {@code true} as soon as a non-empty match completes on the byte just fed;
+ * among the matches completing on that byte the leftmost one is reported, which mirrors calling
+ * {@link java.util.regex.Matcher#find()} after every byte.
+ * <p>
+ * Bytes are treated as ISO-8859-1 characters. The supported language is a subset of {@link Pattern}:
+ * <ul>
+ *   <li>literals, {@code .}, escaped metacharacters and the {@code \t \n \r \f \a \e \0oo \xhh \x{h..h} \cX} escapes</li>
+ *   <li>the classes {@code \d \D \w \W \s \S} and bracket expressions with ranges and negation</li>
+ *   <li>grouping with {@code (...)} and {@code (?:...)}, alternation with {@code |}</li>
+ *   <li>the quantifiers {@code * + ? {n} {n,} {n,m}}, greedy or reluctant</li>
+ * </ul>
+ * Anchors, look-around, back-references, possessive quantifiers, inline flags and characters above
+ * {@code 0xFF} are not supported; {@link #tryCompile(Pattern)} returns {@code null} for such patterns
+ * so the caller can fall back to regular {@link Pattern} evaluation.
+ * <p>
+ * Instances hold per-stream state and are not thread-safe.
+ */
+public final class CerialStreamMatcher
+{
+    private static final int CONSUME = 0;
+    private static final int SPLIT = 1;
+    private static final int JUMP = 2;
+    private static final int MATCH = 3;
+
+    /**
+     * Upper bound on compiled program size, guarding against large counted repetitions.
+     */
+    private static final int MAX_PROGRAM_SIZE = 8192;
+
+    private final String expression;
+    private final int[] op;
+    private final int[] x;
+    private final int[] y;
+    private final long[][] sets;
+
+    private ThreadList current;
+    private ThreadList next;
+    private final int[] stack;
+
+    private long position;
+    private boolean matched;
+    private long matchStart;
+    private long matchLength;
+
+    private CerialStreamMatcher(String expression, Program program)
+    {
+        this.expression = expression;
+        this.op = program.op();
+        this.x = program.x();
+        this.y = program.y();
+        this.sets = program.sets();
+        current = new ThreadList(op.length);
+        next = new ThreadList(op.length);
+        stack = new int[op.length * 2 + 2];
+    }
+
+    /**
+     * Compiles an expression in the supported pattern language.
+     *
+     * @param expression the expression to compile
+     * @return a matcher positioned at the start of a stream
+     * @throws IllegalArgumentException if the expression uses unsupported or invalid syntax
+     */
+    public static CerialStreamMatcher compile(String expression)
+    {
+        Node root = new Parser(expression).parse();
+        ProgramBuilder builder = new ProgramBuilder();
+        builder.emit(root);
+        builder.add(MATCH, null);
+        return new CerialStreamMatcher(expression, builder.build());
+    }
+
+    /**
+     * Attempts to compile a {@link Pattern} into a streaming matcher.
+     *
+     * @param pattern the configured pattern
+     * @return a streaming matcher, or {@code null} if the pattern has flags or uses unsupported syntax
+     */
+    public static CerialStreamMatcher tryCompile(Pattern pattern)
+    {
+        if (pattern == null || pattern.flags() != 0)
+        {
+            return null;
+        }
+        try
+        {
+            return compile(pattern.pattern());
+        }
+        catch (IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the source expression.
+     *
+     * @return the expression this matcher was compiled from
+     */
+    public String getExpression()
+    {
+        return expression;
+    }
+
+    /**
+     * Advances the matcher by one byte.
+     * <p>
+     * When a match completes the matcher resets itself so the next byte begins a new search;
+     * {@link #getMatchLength()} then reports how many of the most recently fed bytes form the match.
+     *
+     * @param b the next byte of the stream
+     * @return true if a non-empty match ends on this byte
+     */
+    public boolean feed(byte b)
+    {
+        int c = b & 0xFF;
+        // A new candidate match may start at this byte; it has the lowest priority (rightmost start)
+        addThread(current, 0, position, false);
+        next.clear();
+        matched = false;
+        for (int i = 0; i < current.count; i++)
+        {
+            int pc = current.pc[i];
+            if (op[pc] == CONSUME && contains(sets[pc], c))
+            {
+                addThread(next, pc + 1, current.start[i], true);
+            }
+        }
+        position++;
+        ThreadList swap = current;
+        current = next;
+        next = swap;
+        if (matched)
+        {
+            matchLength = position - matchStart;
+            reset();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the length of the most recently completed match.
+     *
+     * @return the number of trailing bytes, up to and including the last byte fed, that formed the match
+     */
+    public long getMatchLength()
+    {
+        return matchLength;
+    }
+
+    /**
+     * Discards all partial matches, starting a fresh search with the next byte.
+     */
+    public void reset()
+    {
+        current.clear();
+        next.clear();
+        position = 0;
+    }
+
+    private void addThread(ThreadList list, int startPc, long start, boolean recordMatch)
+    {
+        int top = 0;
+        stack[top++] = startPc;
+        while (top > 0)
+        {
+            int pc = stack[--top];
+            if (list.mark[pc] == list.generation)
+            {
+                continue;
+            }
+            list.mark[pc] = list.generation;
+            switch (op[pc])
+            {
+                case JUMP -> stack[top++] = x[pc];
+                case SPLIT ->
+                {
+                    // push the lower priority branch first so x is explored first
+                    stack[top++] = y[pc];
+                    stack[top++] = x[pc];
+                }
+                case MATCH ->
+                {
+                    if (recordMatch && !matched)
+                    {
+                        matched = true;
+                        matchStart = start;
+                    }
+                }
+                default -> list.add(pc, start);
+            }
+        }
+    }
+
+    private static boolean contains(long[] set, int c)
+    {
+        return (set[c >>> 6] & (1L << (c & 63))) != 0;
+    }
+
+    private static final class ThreadList
+    {
+        private final int[] pc;
+        private final long[] start;
+        private final int[] mark;
+        private int generation = 1;
+        private int count;
+
+        private ThreadList(int size)
+        {
+            pc = new int[size];
+            start = new long[size];
+            mark = new int[size];
+        }
+
+        private void add(int programCounter, long startPosition)
+        {
+            pc[count] = programCounter;
+            start[count] = startPosition;
+            count++;
+        }
+
+        private void clear()
+        {
+            count = 0;
+            generation++;
+            if (generation == Integer.MAX_VALUE)
+            {
+                java.util.Arrays.fill(mark, 0);
+                generation = 1;
+            }
+        }
+    }
+
+    private sealed interface Node permits Chars, Sequence, Alternation, Repeat
+    {
+    }
+
+    private record Chars(long[] bits) implements Node
+    {
+    }
+
+    private record Sequence(List<Node> nodes) implements Node
+    {
+    }
+
+    private record Alternation(List<Node> options) implements Node
+    {
+    }
+
+    private record Repeat(Node node, int min, int max) implements Node
+    {
+    }
+
+    private record Program(int[] op, int[] x, int[] y, long[][] sets)
+    {
+    }
+
+    private static final class ProgramBuilder
+    {
+        private int[] op = new int[32];
+        private int[] x = new int[32];
+        private int[] y = new int[32];
+        private long[][] sets = new long[32][];
+        private int size;
+
+        private int add(int opcode, long[] set)
+        {
+            if (size == MAX_PROGRAM_SIZE)
+            {
+                throw new IllegalArgumentException("Pattern too large for streaming matcher");
+            }
+            if (size == op.length)
+            {
+                int grown = op.length * 2;
+                op = java.util.Arrays.copyOf(op, grown);
+                x = java.util.Arrays.copyOf(x, grown);
+                y = java.util.Arrays.copyOf(y, grown);
+                sets = java.util.Arrays.copyOf(sets, grown);
+            }
+            op[size] = opcode;
+            sets[size] = set;
+            return size++;
+        }
+
+        private void emit(Node node)
+        {
+            switch (node)
+            {
+                case Chars chars -> add(CONSUME, chars.bits());
+                case Sequence sequence -> sequence.nodes().forEach(this::emit);
+                case Alternation alternation ->
+                {
+                    List<Integer> jumps = new ArrayList<>();
+                    List<Node> options = alternation.options();
+                    for (int i = 0; i < options.size() - 1; i++)
+                    {
+                        int split = add(SPLIT, null);
+                        x[split] = split + 1;
+                        emit(options.get(i));
+                        jumps.add(add(JUMP, null));
+                        y[split] = size;
+                    }
+                    emit(options.getLast());
+                    for (int jump : jumps)
+                    {
+                        x[jump] = size;
+                    }
+                }
+                case Repeat repeat ->
+                {
+                    for (int i = 0; i < repeat.min(); i++)
+                    {
+                        emit(repeat.node());
+                    }
+                    if (repeat.max() < 0)
+                    {
+                        int split = add(SPLIT, null);
+                        x[split] = split + 1;
+                        emit(repeat.node());
+                        int jump = add(JUMP, null);
+                        x[jump] = split;
+                        y[split] = size;
+                    }
+                    else
+                    {
+                        for (int i = repeat.min(); i < repeat.max(); i++)
+                        {
+                            int split = add(SPLIT, null);
+                            x[split] = split + 1;
+                            emit(repeat.node());
+                            y[split] = size;
+                        }
+                    }
+                }
+            }
+        }
+
+        private Program build()
+        {
+            return new Program(java.util.Arrays.copyOf(op, size), java.util.Arrays.copyOf(x, size),
+                    java.util.Arrays.copyOf(y, size), java.util.Arrays.copyOf(sets, size));
+        }
+    }
+
+    /**
+     * Recursive-descent parser for the supported pattern language.
+     */
+    private static final class Parser
+    {
+        private static final int MAX_REPEAT = 1000;
+
+        private final String source;
+        private int index;
+
+        private Parser(String source)
+        {
+            this.source = source;
+        }
+
+        private Node parse()
+        {
+            Node node = parseAlternation();
+            if (index < source.length())
+            {
+                throw error("Unmatched ')'");
+            }
+            return node;
+        }
+
+        private Node parseAlternation()
+        {
+            List<Node> options = new ArrayList<>();
+            options.add(parseSequence());
+            while (peek() == '|')
+            {
+                index++;
+                options.add(parseSequence());
+            }
+            return options.size() == 1 ? options.getFirst() : new Alternation(options);
+        }
+
+        private Node parseSequence()
+        {
+            List<Node> nodes = new ArrayList<>();
+            while (index < source.length() && peek() != '|' && peek() != ')')
+            {
+                nodes.add(parseRepeat());
+            }
+            return nodes.size() == 1 ? nodes.getFirst() : new Sequence(nodes);
+        }
+
+        private Node parseRepeat()
+        {
+            Node atom = parseAtom();
+            while (index < source.length())
+            {
+                char c = peek();
+                int min;
+                int max;
+                if (c == '*')
+                {
+                    min = 0;
+                    max = -1;
+                    index++;
+                }
+                else if (c == '+')
+                {
+                    min = 1;
+                    max = -1;
+                    index++;
+                }
+                else if (c == '?')
+                {
+                    min = 0;
+                    max = 1;
+                    index++;
+                }
+                else if (c == '{')
+                {
+                    index++;
+                    min = parseNumber();
+                    max = min;
+                    if (peek() == ',')
+                    {
+                        index++;
+                        max = peek() == '}' ? -1 : parseNumber();
+                    }
+                    expect('}');
+                    if (max >= 0 && max < min)
+                    {
+                        throw error("Illegal repetition range");
+                    }
+                }
+                else
+                {
+                    break;
+                }
+                if (peek() == '?')
+                {
+                    // reluctant quantifiers complete on the same byte as greedy ones
+                    index++;
+                }
+                else if (peek() == '+')
+                {
+                    throw error("Possessive quantifiers are not supported");
+                }
+                atom = new Repeat(atom, min, max);
+            }
+            return atom;
+        }
+
+        private Node parseAtom()
+        {
+            char c = source.charAt(index++);
+            switch (c)
+            {
+                case '(' ->
+                {
+                    if (peek() == '?')
+                    {
+                        if (index + 1 < source.length() && source.charAt(index + 1) == ':')
+                        {
+                            index += 2;
+                        }
+                        else
+                        {
+                            throw error("Only non-capturing (?:...) groups are supported");
+                        }
+                    }
+                    Node inner = parseAlternation();
+                    expect(')');
+                    return inner;
+                }
+                case '[' ->
+                {
+                    return new Chars(parseClass());
+                }
+                case '.' ->
+                {
+                    long[] set = all();
+                    clear(set, '\n');
+                    clear(set, '\r');
+                    clear(set, 0x85);
+                    return new Chars(set);
+                }
+                case '\\' ->
+                {
+                    return new Chars(parseEscape(false));
+                }
+                case '^', '$' -> throw error("Anchors are not supported");
+                case '*', '+', '?', '{' -> throw error("Dangling meta character '" + c + "'");
+                default ->
+                {
+                    return new Chars(single(c));
+                }
+            }
+        }
+
+        private long[] parseClass()
+        {
+            boolean negate = false;
+            if (peek() == '^')
+            {
+                negate = true;
+                index++;
+            }
+            long[] set = new long[4];
+            boolean empty = true;
+            while (peek() != ']')
+            {
+                if (index >= source.length())
+                {
+                    throw error("Unclosed character class");
+                }
+                char c = source.charAt(index++);
+                if (c == '[' || (c == '&' && peek() == '&'))
+                {
+                    throw error("Nested classes and intersections are not supported");
+                }
+                int low;
+                if (c == '\\')
+                {
+                    long[] escaped = parseEscape(true);
+                    low = singleValue(escaped);
+                    if (low < 0)
+                    {
+                        or(set, escaped);
+                        empty = false;
+                        continue;
+                    }
+                }
+                else
+                {
+                    low = checkByte(c);
+                }
+                int high = low;
+                if (peek() == '-' && index + 1 < source.length() && source.charAt(index + 1) != ']')
+                {
+                    index++;
+                    char h = source.charAt(index++);
+                    if (h == '\\')
+                    {
+                        high = singleValue(parseEscape(true));
+                        if (high < 0)
+                        {
+                            throw error("Illegal character range");
+                        }
+                    }
+                    else
+                    {
+                        high = checkByte(h);
+                    }
+                    if (high < low)
+                    {
+                        throw error("Illegal character range");
+                    }
+                }
+                for (int v = low; v <= high; v++)
+                {
+                    set(set, v);
+                }
+                empty = false;
+            }
+            index++;
+            if (empty)
+            {
+                throw error("Empty character class");
+            }
+            if (negate)
+            {
+                for (int i = 0; i < set.length; i++)
+                {
+                    set[i] = ~set[i];
+                }
+            }
+            return set;
+        }
+
+        private long[] parseEscape(boolean inClass)
+        {
+            if (index >= source.length())
+            {
+                throw error("Trailing backslash");
+            }
+            char c = source.charAt(index++);
+            return switch (c)
+            {
+                case 'd' -> range('0', '9');
+                case 'D' -> invert(range('0', '9'));
+                case 'w' -> word();
+                case 'W' -> invert(word());
+                case 's' -> whitespace();
+                case 'S' -> invert(whitespace());
+                case 't' -> single('\t');
+                case 'n' -> single('\n');
+                case 'r' -> single('\r');
+                case 'f' -> single('\f');
+                case 'a' -> single(0x07);
+                case 'e' -> single(0x1B);
+                case '0' -> single(parseOctal());
+                case 'x' -> single(parseHex());
+                case 'u' -> single(checkByte(parseFixedHex(4)));
+                case 'c' ->
+                {
+                    if (index >= source.length())
+                    {
+                        throw error("Illegal control escape");
+                    }
+                    yield single(source.charAt(index++) ^ 64);
+                }
+                default ->
+                {
+                    if (Character.isLetterOrDigit(c))
+                    {
+                        throw error("Unsupported escape '\\" + c + "'");
+                    }
+                    yield single(c);
+                }
+            };
+        }
+
+        private int parseOctal()
+        {
+            int value = 0;
+            int digits = 0;
+            while (digits < 3 && index < source.length() && source.charAt(index) >= '0' && source.charAt(index) <= '7')
+            {
+                int candidate = value * 8 + (source.charAt(index) - '0');
+                if (candidate > 0xFF)
+                {
+                    break;
+                }
+                value = candidate;
+                index++;
+                digits++;
+            }
+            if (digits == 0)
+            {
+                throw error("Illegal octal escape");
+            }
+            return value;
+        }
+
+        private int parseHex()
+        {
+            if (peek() == '{')
+            {
+                index++;
+                int end = source.indexOf('}', index);
+                if (end < 0 || end == index)
+                {
+                    throw error("Illegal hexadecimal escape");
+                }
+                int value = parseFixedHex(end - index);
+                index++;
+                return checkByte(value);
+            }
+            return parseFixedHex(2);
+        }
+
+        private int parseFixedHex(int digits)
+        {
+            if (index + digits > source.length() || digits > 6)
+            {
+                throw error("Illegal hexadecimal escape");
+            }
+            int value = 0;
+            for (int i = 0; i < digits; i++)
+            {
+                int digit = Character.digit(source.charAt(index++), 16);
+                if (digit < 0)
+                {
+                    throw error("Illegal hexadecimal escape");
+                }
+                value = value * 16 + digit;
+            }
+            return value;
+        }
+
+        private int parseNumber()
+        {
+            int start = index;
+            while (index < source.length() && Character.isDigit(source.charAt(index)))
+            {
+                index++;
+            }
+            if (start == index || index - start > 4)
+            {
+                throw error("Illegal repetition");
+            }
+            int value = Integer.parseInt(source, start, index, 10);
+            if (value > MAX_REPEAT)
+            {
+                throw error("Repetition count too large");
+            }
+            return value;
+        }
+
+        private void expect(char c)
+        {
+            if (peek() != c)
+            {
+                throw error("Expected '" + c + "'");
+            }
+            index++;
+        }
+
+        private char peek()
+        {
+            return index < source.length() ? source.charAt(index) : Character.MAX_VALUE;
+        }
+
+        private int checkByte(int c)
+        {
+            if (c > 0xFF)
+            {
+                throw error("Characters above \\u00FF are not supported");
+            }
+            return c;
+        }
+
+        private long[] single(int c)
+        {
+            long[] set = new long[4];
+            set(set, checkByte(c));
+            return set;
+        }
+
+        private IllegalArgumentException error(String message)
+        {
+            return new IllegalArgumentException(message + " near index " + index + " in pattern '" + source + "'");
+        }
+
+        private static long[] range(int low, int high)
+        {
+            long[] set = new long[4];
+            for (int v = low; v <= high; v++)
+            {
+                set(set, v);
+            }
+            return set;
+        }
+
+        private static long[] word()
+        {
+            long[] set = range('a', 'z');
+            or(set, range('A', 'Z'));
+            or(set, range('0', '9'));
+            set(set, '_');
+            return set;
+        }
+
+        private static long[] whitespace()
+        {
+            long[] set = range('\t', '\r');
+            set(set, ' ');
+            return set;
+        }
+
+        private static long[] all()
+        {
+            return new long[]{-1L, -1L, -1L, -1L};
+        }
+
+        private static long[] invert(long[] set)
+        {
+            for (int i = 0; i < set.length; i++)
+            {
+                set[i] = ~set[i];
+            }
+            return set;
+        }
+
+        private static void or(long[] target, long[] source)
+        {
+            for (int i = 0; i < target.length; i++)
+            {
+                target[i] |= source[i];
+            }
+        }
+
+        private static void set(long[] set, int c)
+        {
+            set[c >>> 6] |= 1L << (c & 63);
+        }
+
+        private static void clear(long[] set, int c)
+        {
+            set[c >>> 6] &= ~(1L << (c & 63));
+        }
+
+        private static int singleValue(long[] set)
+        {
+            int found = -1;
+            for (int i = 0; i < set.length; i++)
+            {
+                if (set[i] != 0)
+                {
+                    if (found >= 0 || Long.bitCount(set[i]) != 1)
+                    {
+                        return -1;
+                    }
+                    found = i * 64 + Long.numberOfTrailingZeros(set[i]);
+                }
+            }
+            return found;
+        }
+    }
+}
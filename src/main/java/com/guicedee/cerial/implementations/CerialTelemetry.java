@@ -0,0 +1,222 @@
+package com.guicedee.cerial.implementations;
+
+import com.fazecast.jSerialComm.SerialPort;
+import com.guicedee.cerial.CerialPortConnection;
+import com.guicedee.cerial.enumerations.LineErrorType;
+import com.guicedee.client.IGuiceContext;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Telemetry strategy applied to every frame read from and every write to a serial port.
+ * <p>
+ * The strategy is resolved once, on first use: when the GuicedEE {@code TraceModule} is present a
+ * {@link TracingCerialTelemetry} is installed, otherwise this plain implementation, which only hands
+ * frames to the read callback. The read and write paths therefore cost a single virtual call instead of
+ * a classpath-scan query per message.
+ * <p>
+ * A custom strategy can be installed with {@link #set(CerialTelemetry)}, typically by extending
+ * {@link TracingCerialTelemetry} or this class.
+ */
+@Log4j2
+public class CerialTelemetry
+{
+    private static volatile CerialTelemetry current;
+
+    /**
+     * Creates the plain telemetry strategy.
+     */
+    public CerialTelemetry()
+    {
+    }
+
+    /**
+     * Returns the active telemetry strategy, resolving it on first use.
+     *
+     * @return the telemetry strategy
+     */
+    public static CerialTelemetry get()
+    {
+        CerialTelemetry telemetry = current;
+        if (telemetry == null)
+        {
+            synchronized (CerialTelemetry.class)
+            {
+                telemetry = current;
+                if (telemetry == null)
+                {
+                    telemetry = current = resolve();
+                }
+            }
+        }
+        return telemetry;
+    }
+
+    /**
+     * Replaces the active telemetry strategy.
+     *
+     * @param telemetry the strategy to use from now on, or null to resolve again on next use
+     */
+    public static void set(CerialTelemetry telemetry)
+    {
+        current = telemetry;
+    }
+
+    private static CerialTelemetry resolve()
+    {
+        try
+        {
+            if (IGuiceContext.instance().getScanResult().getClassesImplementing(com.guicedee.client.services.lifecycle.IGuiceModule.class).loadClasses().stream().anyMatch(c -> c.getSimpleName().equals("TraceModule")))
+            {
+                log.debug("📋 TraceModule found - serial reads and writes are traced");
+                return new TracingCerialTelemetry();
+            }
+        }
+        catch (Throwable e)
+        {
+            log.debug("📋 Serial tracing unavailable - {}", e.getMessage());
+        }
+        return new CerialTelemetry();
+    }
+
+    /**
+     * Records bytes read from a serial port.
+     *
+     * @param bytes    the number of bytes read
+     * @param portName the name of the serial port
+     */
+    public void bytesRead(long bytes, String portName)
+    {
+    }
+
+    /**
+     * Records bytes written to a serial port.
+     *
+     * @param bytes    the number of bytes written
+     * @param portName the name of the serial port
+     */
+    public void bytesWritten(long bytes, String portName)
+    {
+    }
+
+    /**
+     * Records bytes read from a connection's port.
+     *
+     * @param bytes      the number of bytes read
+     * @param connection the owning connection
+     */
+    public void bytesRead(long bytes, CerialPortConnection<?> connection)
+    {
+        bytesRead(bytes, connection.getComPortName());
+    }
+
+    /**
+     * Records bytes written to a connection's port.
+     *
+     * @param bytes      the number of bytes written
+     * @param connection the owning connection
+     */
+    public void bytesWritten(long bytes, CerialPortConnection<?> connection)
+    {
+        bytesWritten(bytes, connection.getComPortName());
+    }
+
+    /**
+     * Releases anything held for a connection that has been shut down.
+     *
+     * @param connection the owning connection
+     */
+    public void connectionClosed(CerialPortConnection<?> connection)
+    {
+    }
+
+    /**
+     * Records the latency of a completed request/response exchange.
+     *
+     * @param latencyNanos the time from sending the request to receiving its reply, in nanoseconds
+     * @param connection   the owning connection
+     */
+    public void requestCompleted(long latencyNanos, CerialPortConnection<?> connection)
+    {
+    }
+
+    /**
+     * Records a frame arriving at the connection's dispatcher, before the overflow policy is applied.
+     *
+     * @param bytes      the frame size
+     * @param connection the owning connection
+     */
+    public void frameReceived(int bytes, CerialPortConnection<?> connection)
+    {
+    }
+
+    /**
+     * Records a frame discarded by the connection's overflow policy.
+     *
+     * @param connection the owning connection
+     */
+    public void frameDropped(CerialPortConnection<?> connection)
+    {
+    }
+
+    /**
+     * Records how long a frame waited in the dispatcher queue before delivery started.
+     *
+     * @param queueNanos the time from ingress to dispatch, in nanoseconds
+     * @param connection the owning connection
+     */
+    public void frameDequeued(long queueNanos, CerialPortConnection<?> connection)
+    {
+    }
+
+    /**
+     * Records how long the read callback and read stream took to handle a frame.
+     *
+     * @param handlerNanos the handler execution time, in nanoseconds
+     * @param connection   the owning connection
+     */
+    public void frameHandled(long handlerNanos, CerialPortConnection<?> connection)
+    {
+    }
+
+    /**
+     * Records a line error reported by the serial driver.
+     *
+     * @param type       the kind of line error
+     * @param connection the owning connection
+     */
+    public void lineError(LineErrorType type, CerialPortConnection<?> connection)
+    {
+    }
+
+    /**
+     * Records a received frame and hands it to the read callback.
+     *
+     * @param data       the frame bytes
+     * @param port       the serial port the frame arrived on
+     * @param connection the owning connection
+     * @param reader     the read callback, may be null
+     */
+    public void onReceived(byte[] data, SerialPort port, CerialPortConnection<?> connection, BiConsumer<byte[], SerialPort> reader)
+    {
+        bytesRead(data.length, connection);
+        if (reader != null)
+        {
+            reader.accept(data, port);
+        }
+    }
+
+    /**
+     * Records a completed write.
+     *
+     * @param data       the buffer that was written
+     * @param offset     the index of the first byte written
+     * @param length     the number of bytes written
+     * @param connection the owning connection
+     */
+    public void onWritten(byte[] data, int offset, int length, CerialPortConnection<?> connection)
+    {
+        bytesWritten(length, connection);
+    }
+}
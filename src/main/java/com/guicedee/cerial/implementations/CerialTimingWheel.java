@@ -0,0 +1,277 @@
+package com.guicedee.cerial.implementations;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel shared by all serial connections for short, high-volume timeouts.
+ * <p>
+ * Scheduling is a lock-free enqueue; a single daemon thread moves new timeouts into the wheel and
+ * expires one bucket per tick, so the cost per tick is proportional to the timeouts that expire (plus
+ * cancelled ones being swept), not to the number scheduled. The thread parks indefinitely while the
+ * wheel is empty, so an idle wheel costs nothing.
+ * <p>
+ * Tasks run on the wheel thread and must be short and non-blocking - typically they flip state or
+ * hand work to another executor. Deadlines are measured with {@link System#nanoTime()} and rounded up
+ * to the wheel tick.
+ */
+@Log4j2
+public final class CerialTimingWheel
+{
+    /**
+     * Default tick of the shared wheel.
+     */
+    public static final long DEFAULT_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final class SharedHolder
+    {
+        private static final CerialTimingWheel SHARED = new CerialTimingWheel("cerial-timing-wheel", DEFAULT_TICK_NANOS, DEFAULT_WHEEL_SIZE);
+    }
+
+    private final String name;
+    private final long tickNanos;
+    private final Timeout[] buckets;
+    private final int mask;
+    private final ConcurrentLinkedQueue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    private volatile Thread worker;
+    private long startNanos;
+    private long tick;
+    private int scheduled;
+
+    /**
+     * Creates a wheel with its own worker thread.
+     *
+     * @param name      the worker thread name
+     * @param tickNanos the tick duration in nanoseconds
+     * @param wheelSize the number of buckets, rounded up to a power of two
+     */
+    public CerialTimingWheel(String name, long tickNanos, int wheelSize)
+    {
+        if (tickNanos <= 0 || wheelSize <= 0)
+        {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        this.name = name;
+        this.tickNanos = tickNanos;
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.buckets = new Timeout[Math.max(size, 1)];
+        this.mask = buckets.length - 1;
+    }
+
+    /**
+     * Returns the wheel shared by all connections.
+     *
+     * @return the shared timing wheel
+     */
+    public static CerialTimingWheel shared()
+    {
+        return SharedHolder.SHARED;
+    }
+
+    /**
+     * Returns the tick duration.
+     *
+     * @return the tick in nanoseconds
+     */
+    public long getTickNanos()
+    {
+        return tickNanos;
+    }
+
+    /**
+     * Schedules a task to run once after the given delay.
+     *
+     * @param task  the task, run on the wheel thread
+     * @param delay the delay
+     * @param unit  the delay unit
+     * @return a handle that can cancel the task
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit)
+    {
+        Timeout timeout = new Timeout(task, System.nanoTime() + Math.max(0, unit.toNanos(delay)));
+        pending.add(timeout);
+        Thread current = worker;
+        if (current == null)
+        {
+            current = start();
+        }
+        LockSupport.unpark(current);
+        return timeout;
+    }
+
+    /**
+     * Indicates whether the caller is running on this wheel's thread, i.e. inside a timeout task.
+     *
+     * @return true when called from a timeout task
+     */
+    public boolean inWheelThread()
+    {
+        return Thread.currentThread() == worker;
+    }
+
+    private synchronized Thread start()
+    {
+        if (worker == null)
+        {
+            Thread thread = new Thread(this::run, name);
+            thread.setDaemon(true);
+            startNanos = System.nanoTime();
+            worker = thread;
+            thread.start();
+        }
+        return worker;
+    }
+
+    private void run()
+    {
+        while (true)
+        {
+            if (scheduled == 0 && pending.isEmpty())
+            {
+                LockSupport.park(this);
+                // nothing was in the wheel, so the tick can jump straight to the present
+                tick = (System.nanoTime() - startNanos) / tickNanos;
+                continue;
+            }
+            long tickDeadline = startNanos + (tick + 1) * tickNanos;
+            long sleep;
+            while ((sleep = tickDeadline - System.nanoTime()) > 0)
+            {
+                LockSupport.parkNanos(this, sleep);
+            }
+            transferPending();
+            expire(tick & mask);
+            tick++;
+        }
+    }
+
+    private void transferPending()
+    {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null)
+        {
+            if (timeout.cancelled)
+            {
+                continue;
+            }
+            long ticks = Math.max(tick, (timeout.deadline - startNanos + tickNanos - 1) / tickNanos);
+            timeout.rounds = (ticks - tick) / buckets.length;
+            int index = (int) (ticks & mask);
+            timeout.next = buckets[index];
+            if (timeout.next != null)
+            {
+                timeout.next.previous = timeout;
+            }
+            timeout.previous = null;
+            buckets[index] = timeout;
+            scheduled++;
+        }
+    }
+
+    private void expire(long bucketIndex)
+    {
+        int index = (int) bucketIndex;
+        Timeout timeout = buckets[index];
+        while (timeout != null)
+        {
+            Timeout next = timeout.next;
+            if (timeout.cancelled || timeout.rounds <= 0)
+            {
+                unlink(index, timeout);
+                if (!timeout.cancelled)
+                {
+                    timeout.fired = true;
+                    try
+                    {
+                        timeout.task.run();
+                    }
+                    catch (Throwable t)
+                    {
+                        log.error("❌ Timing wheel task failed: {}", t.getMessage(), t);
+                    }
+                }
+            }
+            else
+            {
+                timeout.rounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    private void unlink(int index, Timeout timeout)
+    {
+        if (timeout.previous != null)
+        {
+            timeout.previous.next = timeout.next;
+        }
+        else
+        {
+            buckets[index] = timeout.next;
+        }
+        if (timeout.next != null)
+        {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.next = null;
+        timeout.previous = null;
+        scheduled--;
+    }
+
+    /**
+     * Handle for a scheduled task.
+     */
+    public static final class Timeout
+    {
+        private final Runnable task;
+        private final long deadline;
+        private volatile boolean cancelled;
+        private volatile boolean fired;
+        private long rounds;
+        private Timeout next;
+        private Timeout previous;
+
+        private Timeout(Runnable task, long deadline)
+        {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Prevents the task from running if it has not run yet.
+         *
+         * @return true if the task had not yet fired
+         */
+        public boolean cancel()
+        {
+            cancelled = true;
+            return !fired;
+        }
+
+        /**
+         * Returns the {@link System#nanoTime()} deadline of this timeout.
+         *
+         * @return the deadline in nanoseconds
+         */
+        public long getDeadline()
+        {
+            return deadline;
+        }
+
+        /**
+         * Indicates whether the task has been cancelled.
+         *
+         * @return true if {@link #cancel()} was called
+         */
+        public boolean isCancelled()
+        {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.guicedee.cerial.implementations;
+
+/**
+ * Token bucket metering bytes out at a fixed rate, used to pace writes to line speed.
+ * <p>
+ * The bucket holds up to {@code capacity} bytes of credit, typically the size of the device's receive
+ * FIFO, and refills at {@code bytesPerSecond}. Reserving more than the available credit puts the bucket
+ * into debt and returns how long the caller must wait before sending, so consecutive reservations are
+ * spaced exactly at the configured rate. Times are {@link System#nanoTime()} values passed in by the
+ * caller. Not thread-safe; callers serialise access (the connection's write lock).
+ */
+public final class CerialTokenBucket
+{
+    private double bytesPerNano;
+    private long capacity;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param bytesPerSecond the refill rate
+     * @param capacity       the maximum burst in bytes
+     * @param now            the current {@link System#nanoTime()}
+     */
+    public CerialTokenBucket(double bytesPerSecond, long capacity, long now)
+    {
+        configure(bytesPerSecond, capacity);
+        this.tokens = this.capacity;
+        this.lastRefill = now;
+    }
+
+    /**
+     * Changes the rate and burst size, keeping the current credit (capped at the new capacity).
+     *
+     * @param bytesPerSecond the refill rate
+     * @param capacity       the maximum burst in bytes
+     */
+    public void configure(double bytesPerSecond, long capacity)
+    {
+        if (bytesPerSecond <= 0 || capacity <= 0)
+        {
+            throw new IllegalArgumentException("Rate and capacity must be positive");
+        }
+        this.bytesPerNano = bytesPerSecond / 1_000_000_000d;
+        this.capacity = capacity;
+        this.tokens = Math.min(tokens, capacity);
+    }
+
+    /**
+     * Returns the refill rate.
+     *
+     * @return the rate in bytes per second
+     */
+    public double getBytesPerSecond()
+    {
+        return bytesPerNano * 1_000_000_000d;
+    }
+
+    /**
+     * Returns the maximum burst.
+     *
+     * @return the capacity in bytes
+     */
+    public long getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Reserves credit for sending bytes.
+     *
+     * @param bytes the number of bytes about to be sent
+     * @param now   the current {@link System#nanoTime()}
+     * @return how long to wait, in nanoseconds, before sending them
+     */
+    public long reserve(int bytes, long now)
+    {
+        // lastRefill is in the future while an inter-frame gap is pending
+        long from = Math.max(now, lastRefill);
+        refill(from);
+        tokens -= bytes;
+        long wait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / bytesPerNano);
+        return from - now + wait;
+    }
+
+    /**
+     * Holds the line idle for a period once the bytes already reserved have drained from the device, as
+     * an inter-frame gap. The bucket is full again when the gap ends.
+     *
+     * @param gapNanos the gap in nanoseconds
+     * @param now      the current {@link System#nanoTime()}
+     */
+    public void pause(long gapNanos, long now)
+    {
+        long from = Math.max(now, lastRefill);
+        refill(from);
+        long drain = (long) Math.ceil((capacity - tokens) / bytesPerNano);
+        lastRefill = from + drain + gapNanos;
+        tokens = capacity;
+    }
+
+    private void refill(long now)
+    {
+        long elapsed = now - lastRefill;
+        if (elapsed > 0)
+        {
+            tokens = Math.min(capacity, tokens + elapsed * bytesPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.guicedee.cerial.implementations;
+
+import com.guicedee.cerial.CerialPortConnection;
+import com.guicedee.cerial.enumerations.TrafficLogging;
+import org.apache.logging.log4j.core.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.guicedee.cerial.CerialPortConnection.portNumberFormat;
+
+/**
+ * Writes a connection's RX/TX traffic to its rolling log without holding up the port.
+ * <p>
+ * The connection's {@link TrafficLogging} policy is applied on the calling thread, which only copies the
+ * bytes and offers them to a bounded ring shared by all connections. A single daemon thread drains the
+ * ring, renders each message (text when it is printable ASCII, otherwise a hex and ASCII dump) and writes
+ * it, so neither formatting nor disk I/O happens on the jSerialComm or writer threads. When the ring is
+ * full, entries are dropped and the number dropped is logged once the thread catches up.
+ * <p>
+ * Log lines carry the time they were written rather than the time the bytes moved; under load that may
+ * trail by the depth of the ring.
+ */
+public class CerialTrafficLogger
+{
+    private static final int RING_CAPACITY = 8192;
+    private static final ArrayBlockingQueue<Entry> ring = new ArrayBlockingQueue<>(RING_CAPACITY);
+    private static final AtomicLong dropped = new AtomicLong();
+    private static volatile Thread worker;
+
+    private final CerialPortConnection<?> connection;
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+
+    private record Entry(Logger log, int comPort, boolean tx, boolean failure, byte[] data)
+    {
+    }
+
+    /**
+     * Creates the traffic logger for a connection.
+     *
+     * @param connection the owning connection
+     */
+    public CerialTrafficLogger(CerialPortConnection<?> connection)
+    {
+        this.connection = connection;
+    }
+
+    /**
+     * Records a received frame.
+     *
+     * @param frame the frame bytes
+     */
+    public void received(byte[] frame)
+    {
+        if (admit(received))
+        {
+            enqueue(false, false, frame, 0, frame.length);
+        }
+    }
+
+    /**
+     * Records bytes written to the port.
+     *
+     * @param data   the buffer that was written, which may be reused once this returns
+     * @param offset the index of the first byte written
+     * @param length the number of bytes written
+     */
+    public void sent(byte[] data, int offset, int length)
+    {
+        if (admit(sent))
+        {
+            enqueue(true, false, data, offset, length);
+        }
+    }
+
+    /**
+     * Records a message involved in a failure: a write that failed or a frame whose handler threw.
+     * Failures are logged under every policy except {@link TrafficLogging#Off}.
+     *
+     * @param tx     true for a write, false for a received frame
+     * @param data   the message buffer, which may be reused once this returns
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     */
+    public void failed(boolean tx, byte[] data, int offset, int length)
+    {
+        if (connection.getTrafficLogging() != TrafficLogging.Off)
+        {
+            enqueue(tx, true, data, offset, length);
+        }
+    }
+
+    /**
+     * Renders a message for the log: trimmed text when every byte is printable ASCII or whitespace,
+     * otherwise space-separated hex followed by an ASCII column with {@code .} for other bytes.
+     *
+     * @param data the message bytes
+     * @return the rendered message
+     */
+    public static String format(byte[] data)
+    {
+        boolean text = true;
+        for (byte b : data)
+        {
+            if ((b < 0x20 || b > 0x7E) && b != '\r' && b != '\n' && b != '\t')
+            {
+                text = false;
+                break;
+            }
+        }
+        if (text)
+        {
+            return new String(data, StandardCharsets.ISO_8859_1).trim();
+        }
+        StringBuilder hex = new StringBuilder(data.length * 4 + 3);
+        for (int i = 0; i < data.length; i++)
+        {
+            if (i > 0)
+            {
+                hex.append(' ');
+            }
+            hex.append(Character.toUpperCase(Character.forDigit((data[i] >> 4) & 0xF, 16)))
+               .append(Character.toUpperCase(Character.forDigit(data[i] & 0xF, 16)));
+        }
+        hex.append(" |");
+        for (byte b : data)
+        {
+            hex.append(b >= 0x20 && b <= 0x7E ? (char) b : '.');
+        }
+        return hex.append('|')
+                  .toString();
+    }
+
+    private boolean admit(AtomicLong counter)
+    {
+        return switch (connection.getTrafficLogging())
+        {
+            case Full -> true;
+            case Sampled -> counter.getAndIncrement() % Math.max(1, connection.getTrafficSampleInterval()) == 0;
+            case Off, ErrorsOnly -> false;
+        };
+    }
+
+    private void enqueue(boolean tx, boolean failure, byte[] data, int offset, int length)
+    {
+        Logger log = connection.getLog();
+        if (!(failure ? log.isWarnEnabled() : log.isInfoEnabled()))
+        {
+            return;
+        }
+        byte[] copy = new byte[length];
+        System.arraycopy(data, offset, copy, 0, length);
+        if (!ring.offer(new Entry(log, connection.getComPort(), tx, failure, copy)))
+        {
+            dropped.incrementAndGet();
+        }
+        if (worker == null)
+        {
+            startWorker();
+        }
+    }
+
+    private static synchronized void startWorker()
+    {
+        if (worker != null)
+        {
+            return;
+        }
+        worker = Thread.ofPlatform()
+                       .name("cerial-traffic-log")
+                       .daemon(true)
+                       .start(CerialTrafficLogger::drain);
+    }
+
+    private static void drain()
+    {
+        while (true)
+        {
+            Entry entry;
+            try
+            {
+                entry = ring.take();
+            }
+            catch (InterruptedException e)
+            {
+                return;
+            }
+            try
+            {
+                long lost = dropped.getAndSet(0);
+                if (lost > 0)
+                {
+                    entry.log()
+                         .warn("⚠️ Traffic log overflow - {} entries dropped", lost);
+                }
+                String port = portNumberFormat.format(entry.comPort());
+                String message = format(entry.data());
+                if (entry.failure())
+                {
+                    entry.log()
+                         .warn("{} failed - Port {} - Message: {}", entry.tx() ? "📤 TX" : "📥 RX", port, message);
+                }
+                else if (entry.tx())
+                {
+                    entry.log()
+                         .info("📤 TX - Port {} - Message: {}", port, message);
+                }
+                else
+                {
+                    entry.log()
+                         .info("📥 RX - Port {} - Message: {}", port, message);
+                }
+            }
+            catch (Throwable ignore)
+            {
+                // a failing appender must not stop traffic logging for every port
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.guicedee.cerial.implementations;
+
+import com.guicedee.cerial.CerialPortConnection;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning one write to a serial port, including time spent waiting for the
+ * write lock, flow control and pacing.
+ */
+@Name("com.guicedee.cerial.Write")
+@Label("Serial Write")
+@Category({"GuicedEE", "Serial"})
+@Description("Bytes written to a serial port")
+@StackTrace(false)
+public class CerialWriteEvent extends jdk.jfr.Event
+{
+    @Label("Port")
+    String port;
+
+    @Label("Bytes")
+    @DataAmount
+    int bytes;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Ends the event and records it if enabled.
+     *
+     * @param connection the owning connection
+     * @param bytes      the number of bytes written
+     * @param succeeded  whether the write completed
+     */
+    public void finish(CerialPortConnection<?> connection, int bytes, boolean succeeded)
+    {
+        end();
+        if (shouldCommit())
+        {
+            this.port = connection.getComPortName();
+            this.bytes = bytes;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.guicedee.cerial.implementations;
+
+import com.fazecast.jSerialComm.SerialPort;
+import com.guicedee.cerial.CerialPortConnection;
+import com.guicedee.cerial.SerialWriteStalledException;
+import com.guicedee.cerial.enumerations.ComPortStatus;
+import com.guicedee.client.IGuiceContext;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-connection outbound queue with a single writer.
+ * <p>
+ * Any thread may enqueue; at most one Vertx worker at a time drains the queue into
+ * {@link CerialPortConnection#transmit(byte[], int, int)}, so messages are written whole and in
+ * submission order and callers on the event loop never block on serial I/O. Small messages that are
+ * waiting together are coalesced into a single native write of up to {@link #maxCoalesceBytes} bytes.
+ * A drain hands its worker back after {@link #DRAIN_BATCH} writes and is rescheduled, so steady
+ * {@code writeAsync} traffic cannot hold a worker indefinitely. Each message's future completes once its bytes have been handed to the port or, when the connection
+ * completes writes on drain, once the port's output buffer has emptied.
+ * <p>
+ * Under RTS/CTS flow control the queue suspends while the device holds CTS low, releasing its worker,
+ * and {@link #resume()}s when CTS is raised again. A write that stalls fails its messages only; any other
+ * failure on an open port is also handed to {@link CerialPortConnection#onConnectError}, as the
+ * synchronous writes do, so a port written only through the queue still reconnects.
+ */
+public class CerialWriteQueue
+{
+    /**
+     * Maximum native writes made by one worker before the drain is rescheduled.
+     */
+    static final int DRAIN_BATCH = 64;
+
+    private final CerialPortConnection<?> connection;
+    private final ConcurrentLinkedQueue<PendingWrite> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private final List<PendingWrite> batch = new ArrayList<>();
+    private byte[] scratch = new byte[256];
+
+    /**
+     * The largest combined write built from queued messages. Larger messages are written on their own.
+     */
+    @Getter
+    @Setter
+    private int maxCoalesceBytes = 4096;
+
+    private record PendingWrite(byte[] data, int offset, int length, Promise<Void> promise)
+    {
+    }
+
+    /**
+     * Creates the write queue for a connection.
+     *
+     * @param connection the owning connection
+     */
+    public CerialWriteQueue(CerialPortConnection<?> connection)
+    {
+        this.connection = connection;
+    }
+
+    /**
+     * Queues bytes for writing.
+     *
+     * @param data   the buffer to write, which must not be modified until the future completes
+     * @param offset the index of the first byte to write
+     * @param length the number of bytes to write
+     * @return a future completed once the bytes are written, or failed if the write fails
+     */
+    public Future<Void> enqueue(byte[] data, int offset, int length)
+    {
+        Promise<Void> promise = Promise.promise();
+        queue.add(new PendingWrite(data, offset, length, promise));
+        scheduleDrain();
+        return promise.future();
+    }
+
+    /**
+     * Returns the number of messages waiting to be written.
+     *
+     * @return the queued message count
+     */
+    public int size()
+    {
+        return queue.size();
+    }
+
+    /**
+     * Fails every queued message, used when the connection is shut down.
+     *
+     * @param error the failure reported to the waiting callers
+     */
+    public void failPending(Throwable error)
+    {
+        PendingWrite write;
+        while ((write = queue.poll()) != null)
+        {
+            write.promise().tryFail(error);
+        }
+    }
+
+    private void scheduleDrain()
+    {
+        if (!writing.compareAndSet(false, true))
+        {
+            return;
+        }
+        try
+        {
+            IGuiceContext.get(Vertx.class)
+                         .executeBlocking(() -> {
+                             drain();
+                             return null;
+                         }, false);
+        }
+        catch (Throwable e)
+        {
+            writing.set(false);
+            failPending(e);
+        }
+    }
+
+    private void drain()
+    {
+        try
+        {
+            PendingWrite first;
+            for (int i = 0; i < DRAIN_BATCH && connection.canSend() && (first = queue.poll()) != null; i++)
+            {
+                batch.add(first);
+                int total = first.length();
+                PendingWrite next;
+                while ((next = queue.peek()) != null && total + next.length() <= maxCoalesceBytes)
+                {
+                    batch.add(queue.poll());
+                    total += next.length();
+                }
+                SerialPort port = connection.getConnectionPort();
+                boolean open = port != null && port.isOpen();
+                try
+                {
+                    if (batch.size() == 1)
+                    {
+                        connection.transmit(first.data(), first.offset(), first.length());
+                    }
+                    else
+                    {
+                        connection.transmit(coalesce(total), 0, total);
+                    }
+                    complete(batch);
+                }
+                catch (Throwable e)
+                {
+                    for (PendingWrite write : batch)
+                    {
+                        write.promise().tryFail(e);
+                    }
+                    if (e instanceof SerialWriteStalledException)
+                    {
+                        // flow control held the line, the link itself is fine
+                        connection.getLog()
+                                  .warn("⚠️ Queued write dropped on ComPort [{}]: {}", connection.getComPort(), e.getMessage());
+                    }
+                    else if (open)
+                    {
+                        connection.getLog()
+                                  .error("❌ Queued write failed on ComPort [{}]: {}", connection.getComPort(), e.getMessage(), e);
+                        connection.onConnectError(e, ComPortStatus.GeneralException);
+                    }
+                }
+                finally
+                {
+                    batch.clear();
+                }
+            }
+        }
+        finally
+        {
+            writing.set(false);
+            if (!queue.isEmpty() && connection.canSend())
+            {
+                scheduleDrain();
+            }
+        }
+    }
+
+    /**
+     * Restarts a queue suspended by flow control.
+     */
+    public void resume()
+    {
+        if (!queue.isEmpty())
+        {
+            scheduleDrain();
+        }
+    }
+
+    private void complete(List<PendingWrite> written)
+    {
+        if (!connection.isCompleteWritesOnDrain())
+        {
+            for (PendingWrite write : written)
+            {
+                write.promise().tryComplete();
+            }
+            return;
+        }
+        List<PendingWrite> waiting = new ArrayList<>(written);
+        connection.whenDrained()
+                  .onComplete(drained -> {
+                      for (PendingWrite write : waiting)
+                      {
+                          if (drained.succeeded())
+                          {
+                              write.promise().tryComplete();
+                          }
+                          else
+                          {
+                              write.promise().tryFail(drained.cause());
+                          }
+                      }
+                  });
+    }
+
+    private byte[] coalesce(int total)
+    {
+        if (scratch.length < total)
+        {
+            scratch = new byte[Math.max(total, scratch.length * 2)];
+        }
+        int position = 0;
+        for (PendingWrite write : batch)
+        {
+            System.arraycopy(write.data(), write.offset(), scratch, position, write.length());
+            position += write.length();
+        }
+        return scratch;
+    }
+}
@@ -0,0 +1,74 @@
+package com.guicedee.cerial.implementations;
+
+import java.util.function.Consumer;
+
+/**
+ * Decodes COBS (Consistent Overhead Byte Stuffing) frames delimited by {@code 0x00}.
+ * <p>
+ * Decoding is streamed: each code byte announces how many literal bytes follow before the next
+ * implicit zero, so no encoded copy of the frame is kept. Frames whose last block is truncated by
+ * the delimiter are dropped.
+ */
+public class CobsFrameDecoder extends AbstractCerialFrameDecoder
+{
+    /**
+     * The code byte of the current block, or 0 before the first block of a frame.
+     */
+    private int code;
+    /**
+     * Literal bytes still expected in the current block.
+     */
+    private int remaining;
+
+    /**
+     * Creates a COBS decoder.
+     */
+    public CobsFrameDecoder()
+    {
+    }
+
+    @Override
+    public String name()
+    {
+        return "cobs";
+    }
+
+    @Override
+    protected void accept(byte b, Consumer<byte[]> frames)
+    {
+        if (b == 0)
+        {
+            if (remaining == 0 && code != 0)
+            {
+                completeFrame(frames);
+            }
+            else
+            {
+                discardFrame();
+            }
+            code = 0;
+            remaining = 0;
+            return;
+        }
+        if (remaining == 0)
+        {
+            if (code != 0 && code != 0xFF)
+            {
+                append((byte) 0);
+            }
+            code = b & 0xFF;
+            remaining = code - 1;
+            return;
+        }
+        append(b);
+        remaining--;
+    }
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+        code = 0;
+        remaining = 0;
+    }
+}
@@ -4,36 +4,29 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fazecast.jSerialComm.SerialPort;
 import com.fazecast.jSerialComm.SerialPortDataListenerWithExceptions;
 import com.fazecast.jSerialComm.SerialPortEvent;
-import com.google.common.base.Strings;
+import com.guicedee.cerial.CerialFrameDecoder;
 import com.guicedee.cerial.CerialPortConnection;
 import com.guicedee.cerial.SerialPortException;
 import com.guicedee.cerial.enumerations.ComPortStatus;
-import com.guicedee.client.IGuiceContext;
-import com.guicedee.client.scopes.CallScopeProperties;
-import com.guicedee.client.scopes.CallScopeSource;
+import com.guicedee.cerial.enumerations.LineErrorType;
 import com.guicedee.client.utils.LogUtils;
-import io.vertx.core.Vertx;
 import lombok.Getter;
 import lombok.Setter;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.logging.log4j.core.Logger;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static com.fazecast.jSerialComm.SerialPort.*;
-import static com.guicedee.cerial.CerialPortConnection.portNumberFormat;
-import static com.guicedee.cerial.enumerations.ComPortStatus.Running;
 
 /**
  * Serial port listener that builds messages from raw byte streams using delimiters,
- * regex patterns, or fixed-length framing, then dispatches messages on a Vertx worker
- * thread with Guice call-scope metadata populated.
+ * regex patterns, fixed-length framing, inter-byte silence or a pluggable {@link CerialFrameDecoder}, then dispatches
+ * messages in order through the connection's {@link CerialDispatcher}.
  */
 @Getter
 @Setter
@@ -54,6 +47,39 @@ public class DataSerialPortBytesListener implements SerialPortDataListenerWithEx
     @JsonIgnore
     private Pattern patternMatch;
 
+    /**
+     * Streaming form of {@link #patternMatch}, or null when the pattern needs full regex evaluation.
+     */
+    @JsonIgnore
+    @Setter(lombok.AccessLevel.NONE)
+    private CerialStreamMatcher streamMatcher;
+
+    /**
+     * Binary frame decoder used by {@link Mode#Decoder}.
+     */
+    @JsonIgnore
+    private CerialFrameDecoder frameDecoder;
+
+    /**
+     * Line silence in microseconds that closes a frame in {@link Mode#Gap}; 0 derives it from {@link #gapCharacters}.
+     */
+    private long gapMicros;
+
+    /**
+     * Line silence in character times that closes a frame in {@link Mode#Gap} when {@link #gapMicros} is 0.
+     */
+    private double gapCharacters = 3.5d;
+
+    @JsonIgnore
+    @Getter(lombok.AccessLevel.NONE)
+    @Setter(lombok.AccessLevel.NONE)
+    private CerialTimingWheel.Timeout gapTimeout;
+
+    @JsonIgnore
+    @Getter(lombok.AccessLevel.NONE)
+    @Setter(lombok.AccessLevel.NONE)
+    private long lastByteNanos;
+
     private Mode mode = Mode.Delimeter;
 
     private int maxBufferLength = 1024;
@@ -79,7 +105,15 @@ public class DataSerialPortBytesListener implements SerialPortDataListenerWithEx
         /**
          * Apply all available framing rules.
          */
-        All
+        All,
+        /**
+         * Hand the raw bytes to the configured {@link CerialFrameDecoder} for binary framing.
+         */
+        Decoder,
+        /**
+         * Emit messages when the line has been silent for the configured gap.
+         */
+        Gap
     }
 
     /**
@@ -105,7 +139,7 @@ public class DataSerialPortBytesListener implements SerialPortDataListenerWithEx
      */
     @Override
     public int getListeningEvents() {
-        return LISTENING_EVENT_DATA_RECEIVED | LISTENING_EVENT_PORT_DISCONNECTED | LISTENING_EVENT_BREAK_INTERRUPT | LISTENING_EVENT_FRAMING_ERROR | LISTENING_EVENT_FIRMWARE_OVERRUN_ERROR | LISTENING_EVENT_PARITY_ERROR | LISTENING_EVENT_SOFTWARE_OVERRUN_ERROR;
+        return LISTENING_EVENT_DATA_RECEIVED | LISTENING_EVENT_DATA_WRITTEN | LISTENING_EVENT_CTS | LISTENING_EVENT_PORT_DISCONNECTED | LISTENING_EVENT_BREAK_INTERRUPT | LISTENING_EVENT_FRAMING_ERROR | LISTENING_EVENT_FIRMWARE_OVERRUN_ERROR | LISTENING_EVENT_PARITY_ERROR | LISTENING_EVENT_SOFTWARE_OVERRUN_ERROR;
     }
 
     /**
@@ -116,9 +150,14 @@ public class DataSerialPortBytesListener implements SerialPortDataListenerWithEx
      * @return a new byte array without the removed values
      */
     public byte[] remove(byte[] array, byte toRemove) {
-        List<Byte> byteList = new ArrayList<>(Arrays.asList(ArrayUtils.toObject(array)));
-        byteList.removeIf(b -> b == toRemove);
-        return ArrayUtils.toPrimitive(byteList.toArray(new Byte[0]));
+        byte[] kept = new byte[array.length];
+        int count = 0;
+        for (byte b : array) {
+            if (b != toRemove) {
+                kept[count++] = b;
+            }
+        }
+        return count == array.length ? kept : Arrays.copyOf(kept, count);
     }
 
     /**
@@ -128,177 +167,213 @@ public class DataSerialPortBytesListener implements SerialPortDataListenerWithEx
      */
     @Override
     public void serialEvent(SerialPortEvent event) {
-        if (event.getEventType() == LISTENING_EVENT_SOFTWARE_OVERRUN_ERROR) {
-            log.error("❌ Software Overrun Error: {}", event.toString());
-            connection.onConnectError(new SerialPortException("Software Overrun Error - " + event.toString()), ComPortStatus.GeneralException);
-        } else if (event.getEventType() == LISTENING_EVENT_PARITY_ERROR) {
-            log.error("❌ Software Parity Error: {}", event.toString());
-            connection.onConnectError(new SerialPortException("Software Parity Error - " + event.toString()), ComPortStatus.GeneralException);
-        } else if (event.getEventType() == LISTENING_EVENT_FRAMING_ERROR) {
-            log.error("❌ Hardware Framing Error: {}", event.toString());
-            connection.onConnectError(new SerialPortException("Hardware Framing Error - " + event.toString()), ComPortStatus.GeneralException);
-        } else if (event.getEventType() == LISTENING_EVENT_FIRMWARE_OVERRUN_ERROR) {
-            log.error("❌ Hardware Firmware Overrun Error: {}", event.toString());
-            connection.onConnectError(new SerialPortException("Hardware Firmware Overrun Error - " + event.toString()), ComPortStatus.GeneralException);
-        } else if (event.getEventType() == LISTENING_EVENT_BREAK_INTERRUPT) {
-            log.error("❌ Hardware Break Interrupt Error: {}", event.toString());
-            connection.onConnectError(new SerialPortException("Hardware Break Interrupt Error - " + event.toString()), ComPortStatus.GeneralException);
+        LineErrorType lineError = LineErrorType.fromListeningEvent(event.getEventType());
+        if (lineError != null) {
+            connection.onLineError(lineError, event.toString());
         } else if (event.getEventType() == LISTENING_EVENT_PORT_DISCONNECTED) {
             log.error("🔌 Port disconnected: {}", event.toString());
             connection.onConnectError(new SerialPortException("Port disconnected - " + event.toString()), ComPortStatus.Offline);
         } else if (event.getEventType() == LISTENING_EVENT_DATA_RECEIVED) {
+            connection.markReceived();
             byte[] newData = event.getReceivedData();
             processReceivedBytes(newData);
+        } else if (event.getEventType() == LISTENING_EVENT_CTS) {
+            connection.onClearToSendChanged(event.getSerialPort().getCTS());
+        } else if (event.getEventType() == LISTENING_EVENT_DATA_WRITTEN) {
+            connection.onOutputDrained();
         }
     }
 
-    private StringBuilder buffer = new StringBuilder();
+    /**
+     * Primitive ring holding the bytes of the frame currently being assembled.
+     */
+    @Setter(lombok.AccessLevel.NONE)
+    private CerialByteRing buffer = new CerialByteRing(maxBufferLength);
+
+    /**
+     * Sets the maximum frame length and resizes the framing ring to match.
+     *
+     * @param maxBufferLength the maximum number of bytes held for a single frame
+     * @return this listener
+     */
+    public DataSerialPortBytesListener setMaxBufferLength(int maxBufferLength) {
+        this.maxBufferLength = maxBufferLength;
+        buffer.resize(maxBufferLength);
+        return this;
+    }
+
+    /**
+     * Sets the framing pattern used by {@link Mode#Pattern} and {@link Mode#All}.
+     * <p>
+     * Patterns within the {@link CerialStreamMatcher} language are matched incrementally in linear
+     * time; anything else falls back to evaluating the regex over the buffered bytes after each byte.
+     *
+     * @param patternMatch the framing pattern, or null to disable pattern framing
+     * @return this listener
+     */
+    public DataSerialPortBytesListener setPatternMatch(Pattern patternMatch) {
+        this.patternMatch = patternMatch;
+        this.streamMatcher = CerialStreamMatcher.tryCompile(patternMatch);
+        if (patternMatch != null && streamMatcher == null) {
+            log.warn("⚠️ Pattern [{}] on Port [{}] cannot be matched incrementally - falling back to regex evaluation per byte", patternMatch.pattern(), connection.getComPort());
+        }
+        return this;
+    }
 
     /**
      * Processes raw bytes, applies framing rules, and emits messages when complete.
+     * <p>
+     * Framing happens in place on a primitive ring buffer; the only allocation per frame is the
+     * byte array handed to the read callback.
      *
      * @param newData the received bytes
      */
     public void processReceivedBytes(byte[] newData) {
-        newData = remove(newData, (byte) 0);
-        String message = "";
-
-        Set<Character> delChars = new java.util.HashSet<>();
-        for (char c : delimiter) {
-            delChars.add(c);
+        if (mode == Mode.Decoder && frameDecoder != null) {
+            // Binary protocols: bytes go to the decoder untouched, without NUL stripping or char conversion
+            frameDecoder.decode(newData, 0, newData.length, this::emitFrame);
+            return;
+        }
+        if (mode == Mode.Gap) {
+            processGapBytes(newData);
+            return;
         }
         for (byte b : newData) {
             if (b == 0) {
                 continue;
             }
-            Character c = (char) b;
-            if ((!allowedChars.isEmpty() && !allowedChars.contains((char) b)) && (delimiter.length > 0 && !delChars.contains(c))) {
+            boolean isDelimiter = isDelimiter(b);
+            if ((!allowedChars.isEmpty() && !allowedChars.contains((char) b)) && (delimiter.length > 0 && !isDelimiter)) {
                 log.warn("⚠️ Character not allowed on serial port - Port [{}] - Character [{}] - Resetting buffer", getConnection().getComPort(), (char) b);
-                buffer = new StringBuilder();
+                resetFrame();
                 continue;
             }
 
             // Common append logic
-            if (buffer.length() >= maxBufferLength) {
+            if (buffer.append(b)) {
                 log.warn("⚠️ Buffer limit reached on serial port - Port [{}] - Rolling data", getConnection().getComPort());
-                buffer.deleteCharAt(0);
             }
-            buffer.append((char) b);
 
             boolean messageProcessed = false;
 
             // 1. Check Pattern
             if ((mode == Mode.All || mode == Mode.Pattern) && patternMatch != null) {
-                Matcher matcher = patternMatch.matcher(buffer.toString());
-                if (matcher.find()) {
-                    message = matcher.group();
-                    try {
-                        if (!Strings.isNullOrEmpty(message)) {
-                            log.info("📥 RX] - Port [{}] - Message: [{}]", portNumberFormat.format(connection.getComPort()), message);
-                            processMessage(message.getBytes());
-                            messageProcessed = true;
+                if (streamMatcher != null) {
+                    if (streamMatcher.feed(b)) {
+                        int length = (int) Math.min(streamMatcher.getMatchLength(), buffer.size());
+                        messageProcessed = emitFrame(buffer.toArray(buffer.size() - length, buffer.size()));
+                        buffer.clear();
+                    }
+                } else {
+                    Matcher matcher = patternMatch.matcher(buffer);
+                    if (matcher.find()) {
+                        int end = matcher.end();
+                        if (end > matcher.start()) {
+                            messageProcessed = emitFrame(buffer.toArray(matcher.start(), end));
                         }
-                    } catch (Throwable e) {
-                        log.error("❌ Error processing received message: {}", e.getMessage(), e);
+                        buffer.discard(end);
                     }
-                    buffer = new StringBuilder(buffer.substring(matcher.end()));
                 }
             }
 
             // 2. Check Delimiter (if not already processed by pattern)
-            if (!messageProcessed && (mode == Mode.All || mode == Mode.Delimeter)) {
-                boolean foundDelimiter = false;
-                for (char delimiterCheck : delimiter) {
-                    if (delimiterCheck == b) {
-                        foundDelimiter = true;
-                        break;
-                    }
-                }
-
-                if (foundDelimiter) {
-                    // Message is everything in buffer minus the delimiter (optional, depending on how it was handled before)
-                    // Looking at previous implementation, it included everything in buffer.
-                    message = buffer.toString();
-                    try {
-                        log.info("RX] - [" + portNumberFormat.format(connection.getComPort()) + "] - [" + message.trim());
-                        processMessage(message.getBytes());
-                        messageProcessed = true;
-                    } catch (Throwable e) {
-                        log.error(e.getMessage(), e);
-                    }
-                    buffer = new StringBuilder();
-                }
+            if (!messageProcessed && isDelimiter && (mode == Mode.All || mode == Mode.Delimeter)) {
+                // The frame includes the delimiter, as it always has
+                messageProcessed = emitFrame(buffer.toArray());
+                resetFrame();
             }
 
             // 3. Check Length (if not already processed)
-            if (!messageProcessed && (mode == Mode.All || mode == Mode.Length)) {
-                if (buffer.length() >= maxBufferLength) {
-                    message = buffer.toString();
-                    try {
-                        log.info("RX] - [" + portNumberFormat.format(connection.getComPort()) + "] - [" + message.trim());
-                        processMessage(message.getBytes());
-                        messageProcessed = true;
-                    } catch (Throwable e) {
-                        log.error(e.getMessage(), e);
-                    }
-                    buffer = new StringBuilder();
-                }
+            if (!messageProcessed && (mode == Mode.All || mode == Mode.Length) && buffer.isFull()) {
+                emitFrame(buffer.toArray());
+                resetFrame();
             }
         }
+    }
 
+    /**
+     * Buffers raw bytes until the line goes quiet.
+     * <p>
+     * Only the arrival time is recorded per read; a single timeout on the shared
+     * {@link CerialTimingWheel} is armed when a frame starts and re-armed for the remainder of the gap
+     * when it fires early, so a burst costs one scheduled task however many reads it spans.
+     *
+     * @param newData the received bytes
+     */
+    private synchronized void processGapBytes(byte[] newData) {
+        for (byte b : newData) {
+            buffer.append(b);
+            if (buffer.isFull()) {
+                log.warn("⚠️ Buffer limit reached on serial port - Port [{}] - Emitting frame before gap", getConnection().getComPort());
+                emitFrame(buffer.toArray());
+                buffer.clear();
+            }
+        }
+        lastByteNanos = System.nanoTime();
+        if (gapTimeout == null && buffer.size() > 0) {
+            gapTimeout = CerialTimingWheel.shared().schedule(this::onGapElapsed, gapNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private synchronized void onGapElapsed() {
+        gapTimeout = null;
+        if (mode != Mode.Gap || buffer.size() == 0) {
+            return;
+        }
+        long remaining = gapNanos() - (System.nanoTime() - lastByteNanos);
+        if (remaining > 0) {
+            gapTimeout = CerialTimingWheel.shared().schedule(this::onGapElapsed, remaining, TimeUnit.NANOSECONDS);
+            return;
+        }
+        emitFrame(buffer.toArray());
+        buffer.clear();
     }
 
     /**
-     * Dispatches a parsed message via the configured consumer in a Vertx worker thread.
+     * Returns the effective inter-byte gap that closes a frame.
      *
-     * @param newData the message bytes to deliver
+     * @return the gap in nanoseconds
      */
-    private void processMessage(byte[] newData) {
-        try {
-            var vertx = IGuiceContext.get(Vertx.class);
-            vertx.executeBlocking(() -> {
-                com.guicedee.client.scopes.CallScoper callScoper = null;
-                boolean started = false;
-                try {
-                    callScoper = IGuiceContext.get(com.guicedee.client.scopes.CallScoper.class);
-                    if (!callScoper.isStartedScope()) {
-                        callScoper.enter();
-                        started = true;
-                    }
-                    CallScopeProperties properties = IGuiceContext.get(CallScopeProperties.class);
-                    if (properties.getSource() == null || properties.getSource() == CallScopeSource.Unknown) {
-                        properties.setSource(CallScopeSource.SerialPort);
-                    }
-                    properties
-                            .getProperties()
-                            .put("ComPort", comPort);
-                    properties
-                            .getProperties()
-                            .put("CerialPortConnection", connection);
-                    getConnection().setComPortStatus(Running);
-
-                    CerialPortConnection.addBytesRead(newData.length, getConnection().getComPortName());
-
-                    if (IGuiceContext.instance().getScanResult().getClassesImplementing(com.guicedee.client.services.lifecycle.IGuiceModule.class).loadClasses().stream().anyMatch(c -> c.getSimpleName().equals("TraceModule")))
-                    {
-                        IGuiceContext.get(CerialDataTracer.class).onDataReceived(newData, connection, getComPortRead());
-                    }
-                    else {
-                        if(getComPortRead() != null)
-                            getComPortRead().accept(newData, getComPort());
-                    }
+    public long gapNanos() {
+        if (gapMicros > 0) {
+            return TimeUnit.MICROSECONDS.toNanos(gapMicros);
+        }
+        return (long) Math.ceil(gapCharacters * connection.getCharacterTimeNanos());
+    }
 
-                } catch (Throwable T) {
-                    log.error("Error on ComPort [" + connection.getComPort() + "] Receipt", T);
-                } finally {
-                    if (started && callScoper != null) {
-                        callScoper.exit();
-                    }
-                }
+    /**
+     * Discards the partially assembled frame and any partial pattern match.
+     */
+    private void resetFrame() {
+        buffer.clear();
+        if (streamMatcher != null) {
+            streamMatcher.reset();
+        }
+    }
+
+    private boolean isDelimiter(byte b) {
+        for (char delimiterCheck : delimiter) {
+            if (delimiterCheck == b) {
                 return true;
-            }, false);
-        } catch (Exception e) {
-            log.error("Error on running bytes serial ComPort [" + connection.getComPort() + "] Receipt", e);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Logs and dispatches a completed frame.
+     *
+     * @param frame the frame bytes, owned by the receiver from here on
+     * @return true if the frame was handed off for dispatch
+     */
+    private boolean emitFrame(byte[] frame) {
+        try {
+            connection.getTrafficLogger().received(frame);
+            connection.getDispatcher().dispatch(frame, comPort, getComPortRead());
+            return true;
+        } catch (Throwable e) {
+            log.error("❌ Error processing received message: {}", e.getMessage(), e);
+            return false;
         }
     }
 
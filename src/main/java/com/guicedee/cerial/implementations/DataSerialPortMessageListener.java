@@ -8,12 +8,9 @@ import com.google.common.base.Strings;
 import com.guicedee.cerial.CerialPortConnection;
 import com.guicedee.cerial.SerialPortException;
 import com.guicedee.cerial.enumerations.ComPortStatus;
+import com.guicedee.cerial.enumerations.LineErrorType;
 import com.guicedee.client.annotations.INotInjectable;
-import com.guicedee.client.IGuiceContext;
 import com.guicedee.client.utils.LogUtils;
-import com.guicedee.client.scopes.CallScopeProperties;
-import com.guicedee.client.scopes.CallScopeSource;
-import io.vertx.core.Vertx;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.commons.lang3.ArrayUtils;
@@ -26,13 +23,11 @@ import java.util.List;
 import java.util.function.BiConsumer;
 
 import static com.fazecast.jSerialComm.SerialPort.*;
-import static com.guicedee.cerial.CerialPortConnection.portNumberFormat;
-import static com.guicedee.cerial.enumerations.ComPortStatus.Running;
 
 /**
  * Serial port listener that treats incoming data as message frames separated by a delimiter.
- * Uses jSerialComm message callbacks and dispatches the payload on a Vertx worker thread with
- * Guice call-scope metadata populated for downstream handlers.
+ * Uses jSerialComm message callbacks and dispatches the payload in order through the connection's
+ * {@link CerialDispatcher}, with Guice call-scope metadata populated for downstream handlers.
  */
 @Getter
 @Setter
@@ -102,7 +97,7 @@ public class DataSerialPortMessageListener implements SerialPortMessageListener,
     @Override
     public int getListeningEvents()
     {
-        return LISTENING_EVENT_DATA_RECEIVED | LISTENING_EVENT_PORT_DISCONNECTED | LISTENING_EVENT_BREAK_INTERRUPT | LISTENING_EVENT_FRAMING_ERROR | LISTENING_EVENT_FIRMWARE_OVERRUN_ERROR | LISTENING_EVENT_PARITY_ERROR | LISTENING_EVENT_SOFTWARE_OVERRUN_ERROR;
+        return LISTENING_EVENT_DATA_RECEIVED | LISTENING_EVENT_DATA_WRITTEN | LISTENING_EVENT_CTS | LISTENING_EVENT_PORT_DISCONNECTED | LISTENING_EVENT_BREAK_INTERRUPT | LISTENING_EVENT_FRAMING_ERROR | LISTENING_EVENT_FIRMWARE_OVERRUN_ERROR | LISTENING_EVENT_PARITY_ERROR | LISTENING_EVENT_SOFTWARE_OVERRUN_ERROR;
     }
 
     /**
@@ -127,32 +122,23 @@ public class DataSerialPortMessageListener implements SerialPortMessageListener,
     @Override
     public void serialEvent(SerialPortEvent event)
     {
-        if (event.getEventType() == LISTENING_EVENT_SOFTWARE_OVERRUN_ERROR) {
-            log.error("❌ Software Overrun Error: {}", event.toString());
-            connection.onConnectError(new SerialPortException("Software Overrun Error - " + event.toString()), ComPortStatus.GeneralException);
-        }
-        else  if (event.getEventType() == LISTENING_EVENT_PARITY_ERROR) {
-            log.error("❌ Software Parity Error: {}", event.toString());
-            connection.onConnectError(new SerialPortException("Software Parity Error - " + event.toString()), ComPortStatus.GeneralException);
-        }
-        else  if (event.getEventType() == LISTENING_EVENT_FRAMING_ERROR) {
-            log.error("❌ Hardware Framing Error: {}", event.toString());
-            connection.onConnectError(new SerialPortException("Hardware Framing Error - " + event.toString()), ComPortStatus.GeneralException);
-        }
-        else  if (event.getEventType() == LISTENING_EVENT_FIRMWARE_OVERRUN_ERROR) {
-            log.error("❌ Hardware Firmware Overrun Error: {}", event.toString());
-            connection.onConnectError(new SerialPortException("Hardware Firmware Overrun Error - " + event.toString()), ComPortStatus.GeneralException);
-        }
-        else  if (event.getEventType() == LISTENING_EVENT_BREAK_INTERRUPT) {
-            log.error("Hardware Break Interrupt Error - " + event.toString());
-            connection.onConnectError(new SerialPortException("Hardware Break Interrupt Error - " + event.toString()), ComPortStatus.GeneralException);
+        LineErrorType lineError = LineErrorType.fromListeningEvent(event.getEventType());
+        if (lineError != null) {
+            connection.onLineError(lineError, event.toString());
         } else if (event.getEventType() == LISTENING_EVENT_PORT_DISCONNECTED) {
             log.error("🔌 Port disconnected: {}", event.toString());
             connection.onConnectError(new SerialPortException("Port disconnected - " + event.toString()), ComPortStatus.Offline);
         } else if (event.getEventType() == LISTENING_EVENT_DATA_RECEIVED)
         {
+            connection.markReceived();
             byte[] newData = event.getReceivedData();
             processReceivedBytes(newData);
+        } else if (event.getEventType() == LISTENING_EVENT_CTS)
+        {
+            connection.onClearToSendChanged(event.getSerialPort().getCTS());
+        } else if (event.getEventType() == LISTENING_EVENT_DATA_WRITTEN)
+        {
+            connection.onOutputDrained();
         }
     }
 
@@ -168,46 +154,7 @@ public class DataSerialPortMessageListener implements SerialPortMessageListener,
         if (Strings.isNullOrEmpty(new String(newData).trim()))
             return;
 
-        String rxMessage = new String(newData, StandardCharsets.UTF_8).trim();
-        if (!rxMessage.isEmpty()) {
-            log.info("📥 RX - Port {} - Message: {}", portNumberFormat.format(connection.getComPort()), rxMessage);
-        }
-        var vertx = IGuiceContext.get(Vertx.class);
-        vertx.executeBlocking(() -> {
-            com.guicedee.client.scopes.CallScoper callScoper = null;
-            boolean started = false;
-            try {
-                callScoper = IGuiceContext.get(com.guicedee.client.scopes.CallScoper.class);
-                if (!callScoper.isStartedScope()) {
-                    callScoper.enter();
-                    started = true;
-                }
-                CallScopeProperties properties = IGuiceContext.get(CallScopeProperties.class);
-                if (properties.getSource() == null || properties.getSource() == CallScopeSource.Unknown) {
-                    properties.setSource(CallScopeSource.SerialPort);
-                }
-                properties.getProperties().put("ComPort", comPort);
-                properties.getProperties().put("CerialPortConnection", connection);
-                connection.setComPortStatus(Running);
-
-                CerialPortConnection.addBytesRead(newData.length, connection.getComPortName());
-
-                if (IGuiceContext.instance().getScanResult().getClassesImplementing(com.guicedee.client.services.lifecycle.IGuiceModule.class).loadClasses().stream().anyMatch(c -> c.getSimpleName().equals("TraceModule")))
-                {
-                    IGuiceContext.get(CerialDataTracer.class).onDataReceived(newData, connection, getComPortRead());
-                }else {
-                    if(getComPortRead() != null)
-                        getComPortRead().accept(newData, getComPort());
-                }
-
-            } catch (Throwable T) {
-                log.error("Error on ComPort [" + connection.getComPort() + "] Receipt", T);
-            } finally {
-                if (started && callScoper != null) {
-                    callScoper.exit();
-                }
-            }
-            return null;
-        }, false);
+        connection.getTrafficLogger().received(newData);
+        connection.getDispatcher().dispatch(newData, comPort, getComPortRead());
     }
 }
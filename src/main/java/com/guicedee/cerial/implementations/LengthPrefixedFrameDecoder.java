@@ -0,0 +1,96 @@
+package com.guicedee.cerial.implementations;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.function.Consumer;
+
+/**
+ * Decodes frames preceded by a binary length field.
+ * <p>
+ * The length field is {@link #lengthFieldBytes} wide (1, 2 or 4 bytes), big- or little-endian, and by
+ * default counts only the payload that follows it. Emitted frames contain the payload without the
+ * length field. Zero-length frames are skipped and frames longer than the maximum frame length are
+ * consumed and dropped so the decoder stays aligned with the stream.
+ */
+public class LengthPrefixedFrameDecoder extends AbstractCerialFrameDecoder
+{
+    /**
+     * Width of the length field in bytes.
+     */
+    @Getter
+    @Setter
+    private int lengthFieldBytes = 2;
+
+    /**
+     * Whether the length field is big-endian (network order).
+     */
+    @Getter
+    @Setter
+    private boolean bigEndian = true;
+
+    /**
+     * Whether the length value includes the length field itself.
+     */
+    @Getter
+    @Setter
+    private boolean lengthIncludesHeader = false;
+
+    private int headerRead;
+    private int length;
+    private int remaining;
+
+    /**
+     * Creates a decoder for a two byte big-endian length field.
+     */
+    public LengthPrefixedFrameDecoder()
+    {
+    }
+
+    @Override
+    public String name()
+    {
+        return "length-prefixed";
+    }
+
+    @Override
+    protected void accept(byte b, Consumer<byte[]> frames)
+    {
+        if (headerRead < lengthFieldBytes)
+        {
+            int value = b & 0xFF;
+            length = bigEndian ? (length << 8) | value : length | (value << (8 * headerRead));
+            headerRead++;
+            if (headerRead == lengthFieldBytes)
+            {
+                remaining = lengthIncludesHeader ? length - lengthFieldBytes : length;
+                if (remaining <= 0)
+                {
+                    // empty or corrupt length - there is no payload to wait for
+                    startHeader();
+                }
+            }
+            return;
+        }
+        append(b);
+        if (--remaining == 0)
+        {
+            completeFrame(frames);
+            startHeader();
+        }
+    }
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+        startHeader();
+    }
+
+    private void startHeader()
+    {
+        headerRead = 0;
+        length = 0;
+        remaining = 0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.guicedee.cerial.implementations;
+
+import java.util.function.Consumer;
+
+/**
+ * Decodes SLIP (RFC 1055) framed packets.
+ * <p>
+ * Packets are terminated by {@code END} ({@code 0xC0}); {@code ESC ESC_END} and {@code ESC ESC_ESC}
+ * decode to {@code END} and {@code ESC}. Empty packets, produced by the leading {@code END} many
+ * senders use to flush line noise, are skipped, and packets with an invalid escape are dropped.
+ */
+public class SlipFrameDecoder extends AbstractCerialFrameDecoder
+{
+    private static final byte END = (byte) 0xC0;
+    private static final byte ESC = (byte) 0xDB;
+    private static final byte ESC_END = (byte) 0xDC;
+    private static final byte ESC_ESC = (byte) 0xDD;
+
+    private boolean escaped;
+    private boolean corrupt;
+
+    /**
+     * Creates a SLIP decoder.
+     */
+    public SlipFrameDecoder()
+    {
+    }
+
+    @Override
+    public String name()
+    {
+        return "slip";
+    }
+
+    @Override
+    protected void accept(byte b, Consumer<byte[]> frames)
+    {
+        if (b == END)
+        {
+            if (corrupt || escaped)
+            {
+                discardFrame();
+            }
+            else
+            {
+                completeFrame(frames);
+            }
+            escaped = false;
+            corrupt = false;
+        }
+        else if (escaped)
+        {
+            escaped = false;
+            if (b == ESC_END)
+            {
+                append(END);
+            }
+            else if (b == ESC_ESC)
+            {
+                append(ESC);
+            }
+            else
+            {
+                corrupt = true;
+            }
+        }
+        else if (b == ESC)
+        {
+            escaped = true;
+        }
+        else
+        {
+            append(b);
+        }
+    }
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+        escaped = false;
+        corrupt = false;
+    }
+}
@@ -0,0 +1,97 @@
+package com.guicedee.cerial.implementations;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.function.Consumer;
+
+/**
+ * Decodes frames wrapped in STX/ETX control characters with DLE escaping.
+ * <p>
+ * Bytes outside a frame are ignored. Inside a frame a DLE byte makes the following byte literal, so
+ * payloads may contain STX, ETX or DLE values. An unescaped STX inside a frame restarts the frame.
+ * Emitted frames contain the unescaped payload without the STX/ETX markers.
+ */
+public class StxEtxFrameDecoder extends AbstractCerialFrameDecoder
+{
+    /**
+     * Start-of-text marker, {@code 0x02} by default.
+     */
+    @Getter
+    @Setter
+    private byte stx = 0x02;
+
+    /**
+     * End-of-text marker, {@code 0x03} by default.
+     */
+    @Getter
+    @Setter
+    private byte etx = 0x03;
+
+    /**
+     * Data-link-escape marker, {@code 0x10} by default.
+     */
+    @Getter
+    @Setter
+    private byte dle = 0x10;
+
+    private boolean inFrame;
+    private boolean escaped;
+
+    /**
+     * Creates a decoder using the standard STX, ETX and DLE values.
+     */
+    public StxEtxFrameDecoder()
+    {
+    }
+
+    @Override
+    public String name()
+    {
+        return "stx-etx";
+    }
+
+    @Override
+    protected void accept(byte b, Consumer<byte[]> frames)
+    {
+        if (!inFrame)
+        {
+            if (b == stx)
+            {
+                inFrame = true;
+                discardFrame();
+            }
+            return;
+        }
+        if (escaped)
+        {
+            escaped = false;
+            append(b);
+        }
+        else if (b == dle)
+        {
+            escaped = true;
+        }
+        else if (b == etx)
+        {
+            completeFrame(frames);
+            inFrame = false;
+        }
+        else if (b == stx)
+        {
+            discardFrame();
+        }
+        else
+        {
+            append(b);
+        }
+    }
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+        inFrame = false;
+        escaped = false;
+    }
+}
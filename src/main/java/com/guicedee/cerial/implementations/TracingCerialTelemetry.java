@@ -0,0 +1,229 @@
+package com.guicedee.cerial.implementations;
+
+import com.fazecast.jSerialComm.SerialPort;
+import com.guicedee.cerial.CerialPortConnection;
+import com.guicedee.cerial.enumerations.LineErrorType;
+import com.guicedee.client.IGuiceContext;
+import com.guicedee.telemetry.implementations.OpenTelemetrySDKConfigurator;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongHistogram;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Telemetry strategy used when the GuicedEE {@code TraceModule} is present.
+ * <p>
+ * Wraps reads and writes in {@link CerialDataTracer} / {@link CerialWriteTracer} spans and records
+ * OpenTelemetry metrics per port:
+ * <ul>
+ *     <li>{@code serial.bytes_read} and {@code serial.bytes_written} counters</li>
+ *     <li>{@code serial.frames} and {@code serial.frames.dropped} counters</li>
+ *     <li>{@code serial.line_errors} counter, by {@code error.type}</li>
+ *     <li>{@code serial.frame.size} histogram</li>
+ *     <li>{@code serial.dispatch.queue_time} histogram, ingress to dispatch</li>
+ *     <li>{@code serial.handler.duration} histogram</li>
+ *     <li>{@code serial.request.duration} histogram, request round trip</li>
+ * </ul>
+ * Attribute sets are built once per port and reused for every measurement. The tracers are looked up
+ * from the injector on first use.
+ */
+public class TracingCerialTelemetry extends CerialTelemetry
+{
+    private static final AttributeKey<String> SERIAL_PORT = AttributeKey.stringKey("serial.port");
+    private static final AttributeKey<String> ERROR_TYPE = AttributeKey.stringKey("error.type");
+
+    private final LongCounter bytesWrittenCounter;
+    private final LongCounter bytesReadCounter;
+    private final LongCounter framesCounter;
+    private final LongCounter droppedFramesCounter;
+    private final LongCounter lineErrorsCounter;
+    private final LongHistogram frameSize;
+    private final DoubleHistogram queueTime;
+    private final DoubleHistogram handlerDuration;
+    private final DoubleHistogram requestDuration;
+    private final ConcurrentHashMap<String, PortAttributes> attributesByName = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CerialPortConnection<?>, PortAttributes> attributesByConnection = new ConcurrentHashMap<>();
+
+    /**
+     * Attribute sets of one port, built on the port's first measurement.
+     */
+    private record PortAttributes(Attributes port, EnumMap<LineErrorType, Attributes> lineErrors)
+    {
+        private static PortAttributes of(String portName)
+        {
+            Attributes port = Attributes.of(SERIAL_PORT, portName);
+            EnumMap<LineErrorType, Attributes> lineErrors = new EnumMap<>(LineErrorType.class);
+            for (LineErrorType type : LineErrorType.values())
+            {
+                lineErrors.put(type, Attributes.of(SERIAL_PORT, portName, ERROR_TYPE, type.name()));
+            }
+            return new PortAttributes(port, lineErrors);
+        }
+    }
+
+    private volatile CerialDataTracer dataTracer;
+    private volatile CerialWriteTracer writeTracer;
+
+    /**
+     * Creates the tracing strategy and its byte counters.
+     */
+    public TracingCerialTelemetry()
+    {
+        var meter = OpenTelemetrySDKConfigurator.getOpenTelemetry()
+                                                .getMeter("com.guicedee.cerial");
+        bytesWrittenCounter = meter.counterBuilder("serial.bytes_written")
+                                   .setDescription("Total bytes written to serial ports")
+                                   .setUnit("bytes")
+                                   .build();
+        bytesReadCounter = meter.counterBuilder("serial.bytes_read")
+                                .setDescription("Total bytes read from serial ports")
+                                .setUnit("bytes")
+                                .build();
+        requestDuration = meter.histogramBuilder("serial.request.duration")
+                               .setDescription("Time from sending a request to receiving its reply")
+                               .setUnit("ms")
+                               .build();
+        framesCounter = meter.counterBuilder("serial.frames")
+                             .setDescription("Frames received from serial ports, including dropped frames")
+                             .build();
+        droppedFramesCounter = meter.counterBuilder("serial.frames.dropped")
+                                    .setDescription("Received frames discarded by the inbound overflow policy")
+                                    .build();
+        lineErrorsCounter = meter.counterBuilder("serial.line_errors")
+                                 .setDescription("Line errors reported by serial drivers")
+                                 .build();
+        frameSize = meter.histogramBuilder("serial.frame.size")
+                         .ofLongs()
+                         .setDescription("Size of received frames")
+                         .setUnit("bytes")
+                         .build();
+        queueTime = meter.histogramBuilder("serial.dispatch.queue_time")
+                         .setDescription("Time received frames wait between ingress and dispatch")
+                         .setUnit("ms")
+                         .build();
+        handlerDuration = meter.histogramBuilder("serial.handler.duration")
+                               .setDescription("Time spent handling a received frame")
+                               .setUnit("ms")
+                               .build();
+    }
+
+    private PortAttributes attributes(String portName)
+    {
+        PortAttributes attributes = attributesByName.get(portName);
+        if (attributes == null)
+        {
+            attributes = attributesByName.computeIfAbsent(portName, PortAttributes::of);
+        }
+        return attributes;
+    }
+
+    private PortAttributes attributes(CerialPortConnection<?> connection)
+    {
+        PortAttributes attributes = attributesByConnection.get(connection);
+        if (attributes == null)
+        {
+            attributes = attributesByConnection.computeIfAbsent(connection, c -> attributes(c.getComPortName()));
+        }
+        return attributes;
+    }
+
+    @Override
+    public void bytesRead(long bytes, String portName)
+    {
+        bytesReadCounter.add(bytes, attributes(portName).port());
+    }
+
+    @Override
+    public void bytesWritten(long bytes, String portName)
+    {
+        bytesWrittenCounter.add(bytes, attributes(portName).port());
+    }
+
+    @Override
+    public void bytesRead(long bytes, CerialPortConnection<?> connection)
+    {
+        bytesReadCounter.add(bytes, attributes(connection).port());
+    }
+
+    @Override
+    public void bytesWritten(long bytes, CerialPortConnection<?> connection)
+    {
+        bytesWrittenCounter.add(bytes, attributes(connection).port());
+    }
+
+    @Override
+    public void connectionClosed(CerialPortConnection<?> connection)
+    {
+        attributesByConnection.remove(connection);
+    }
+
+    @Override
+    public void requestCompleted(long latencyNanos, CerialPortConnection<?> connection)
+    {
+        requestDuration.record(latencyNanos / 1_000_000d, attributes(connection).port());
+    }
+
+    @Override
+    public void frameReceived(int bytes, CerialPortConnection<?> connection)
+    {
+        Attributes port = attributes(connection).port();
+        framesCounter.add(1, port);
+        frameSize.record(bytes, port);
+    }
+
+    @Override
+    public void frameDropped(CerialPortConnection<?> connection)
+    {
+        droppedFramesCounter.add(1, attributes(connection).port());
+    }
+
+    @Override
+    public void frameDequeued(long queueNanos, CerialPortConnection<?> connection)
+    {
+        queueTime.record(queueNanos / 1_000_000d, attributes(connection).port());
+    }
+
+    @Override
+    public void frameHandled(long handlerNanos, CerialPortConnection<?> connection)
+    {
+        handlerDuration.record(handlerNanos / 1_000_000d, attributes(connection).port());
+    }
+
+    @Override
+    public void lineError(LineErrorType type, CerialPortConnection<?> connection)
+    {
+        lineErrorsCounter.add(1, attributes(connection).lineErrors()
+                                                                      .get(type));
+    }
+
+    @Override
+    public void onReceived(byte[] data, SerialPort port, CerialPortConnection<?> connection, BiConsumer<byte[], SerialPort> reader)
+    {
+        bytesRead(data.length, connection);
+        CerialDataTracer tracer = dataTracer;
+        if (tracer == null)
+        {
+            tracer = dataTracer = IGuiceContext.get(CerialDataTracer.class);
+        }
+        tracer.onDataReceived(data, connection, reader);
+    }
+
+    @Override
+    public void onWritten(byte[] data, int offset, int length, CerialPortConnection<?> connection)
+    {
+        String portName = connection.getComPortName();
+        CerialWriteTracer tracer = writeTracer;
+        if (tracer == null)
+        {
+            tracer = writeTracer = IGuiceContext.get(CerialWriteTracer.class);
+        }
+        tracer.onWrite(new String(data, offset, length, StandardCharsets.UTF_8), portName, connection.getComPort());
+        bytesWritten(length, connection);
+    }
+}
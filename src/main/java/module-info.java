@@ -1,5 +1,6 @@
-import com.guicedee.cerial.implementations.CerialPortsBindings;
-import com.guicedee.cerial.implementations.CerialPreDestroy;
+import com.guicedee.cerial.CerialFrameDecoder;
+import com.guicedee.cerial.implementations.*;
+import com.guicedee.client.services.lifecycle.IGuiceConfigurator;
 import com.guicedee.client.services.lifecycle.IGuiceModule;
 import com.guicedee.client.services.lifecycle.IGuicePreDestroy;
 
@@ -11,12 +12,14 @@ module com.guicedee.cerial {
 
     requires com.fasterxml.jackson.annotation;
     requires java.logging;
+    requires jdk.jfr;
 
     requires org.apache.logging.log4j;
     requires io.vertx.core;
     requires org.apache.logging.log4j.core;
     requires org.apache.commons.io;
     requires com.guicedee.guicedinjection;
+    requires io.github.classgraph;
 
     requires static com.guicedee.health;
     requires static com.guicedee.telemetry;
@@ -35,6 +38,10 @@ module com.guicedee.cerial {
     exports com.guicedee.cerial.implementations;
 
     provides IGuiceModule with CerialPortsBindings;
+    provides IGuiceConfigurator with CerialScanConfigurator;
     provides IGuicePreDestroy with CerialPreDestroy;
 
+    uses CerialFrameDecoder;
+    provides CerialFrameDecoder with LengthPrefixedFrameDecoder, StxEtxFrameDecoder, SlipFrameDecoder, CobsFrameDecoder;
+
 }
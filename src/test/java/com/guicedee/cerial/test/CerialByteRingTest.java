@@ -0,0 +1,76 @@
+package com.guicedee.cerial.test;
+
+import com.guicedee.cerial.implementations.CerialByteRing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CerialByteRingTest
+{
+    @Test
+    @DisplayName("Appending past capacity rolls the oldest bytes out")
+    void testRollsOldestWhenFull()
+    {
+        CerialByteRing ring = new CerialByteRing(4);
+        for (byte b : "abcd".getBytes(StandardCharsets.US_ASCII))
+        {
+            assertFalse(ring.append(b));
+        }
+        assertTrue(ring.isFull());
+        assertTrue(ring.append((byte) 'e'));
+        assertTrue(ring.append((byte) 'f'));
+        assertEquals("cdef", new String(ring.toArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("Ranges and discards work across the wrap point")
+    void testRangeAcrossWrap()
+    {
+        CerialByteRing ring = new CerialByteRing(5);
+        for (byte b : "0123456".getBytes(StandardCharsets.US_ASCII))
+        {
+            ring.append(b);
+        }
+        assertEquals("23456", ring.toString());
+        assertEquals("345", new String(ring.toArray(1, 4), StandardCharsets.US_ASCII));
+        ring.discard(3);
+        assertEquals("56", ring.toString());
+        ring.discard(10);
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    @DisplayName("Regular expressions run directly over the ring")
+    void testPatternOverRing()
+    {
+        CerialByteRing ring = new CerialByteRing(16);
+        for (byte b : "xxSTART42ENDyy".getBytes(StandardCharsets.US_ASCII))
+        {
+            ring.append(b);
+        }
+        Matcher matcher = Pattern.compile("START\\d+END").matcher(ring);
+        assertTrue(matcher.find());
+        assertEquals("START42END", new String(ring.toArray(matcher.start(), matcher.end()), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("Resizing keeps the newest bytes that fit")
+    void testResizeKeepsNewest()
+    {
+        CerialByteRing ring = new CerialByteRing(8);
+        for (byte b : "abcdefgh".getBytes(StandardCharsets.US_ASCII))
+        {
+            ring.append(b);
+        }
+        ring.resize(3);
+        assertEquals("fgh", ring.toString());
+        ring.resize(6);
+        ring.append((byte) 'i');
+        assertEquals("fghi", ring.toString());
+    }
+}
@@ -0,0 +1,97 @@
+package com.guicedee.cerial.test;
+
+import com.guicedee.cerial.CerialFrameDecoder;
+import com.guicedee.cerial.SerialPortException;
+import com.guicedee.cerial.implementations.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CerialFrameDecoderTest
+{
+    @Test
+    @DisplayName("Bundled decoders are discoverable by name")
+    void testServiceLoaderLookup()
+    {
+        assertInstanceOf(LengthPrefixedFrameDecoder.class, CerialFrameDecoder.load("length-prefixed"));
+        assertInstanceOf(StxEtxFrameDecoder.class, CerialFrameDecoder.load("STX-ETX"));
+        assertInstanceOf(SlipFrameDecoder.class, CerialFrameDecoder.load("slip"));
+        assertInstanceOf(CobsFrameDecoder.class, CerialFrameDecoder.load("cobs"));
+        assertNotSame(CerialFrameDecoder.load("cobs"), CerialFrameDecoder.load("cobs"));
+        assertThrows(SerialPortException.class, () -> CerialFrameDecoder.load("unknown"));
+    }
+
+    @Test
+    @DisplayName("Length-prefixed frames survive arbitrary chunking and binary payloads")
+    void testLengthPrefixed()
+    {
+        LengthPrefixedFrameDecoder decoder = new LengthPrefixedFrameDecoder();
+        byte[] stream = {0, 3, 0, 10, 0, 0, 0, 0, 1, (byte) 0xFF};
+        List<byte[]> frames = decodeInChunks(decoder, stream, 2);
+        assertEquals(2, frames.size());
+        assertArrayEquals(new byte[]{0, 10, 0}, frames.get(0));
+        assertArrayEquals(new byte[]{(byte) 0xFF}, frames.get(1));
+    }
+
+    @Test
+    @DisplayName("STX/ETX frames honour DLE escaping and ignore noise between frames")
+    void testStxEtx()
+    {
+        StxEtxFrameDecoder decoder = new StxEtxFrameDecoder();
+        byte[] stream = {0x55, 0x02, 0x41, 0x10, 0x03, 0x00, 0x03, 0x66, 0x02, 0x10, 0x10, 0x03};
+        List<byte[]> frames = decodeInChunks(decoder, stream, 3);
+        assertEquals(2, frames.size());
+        assertArrayEquals(new byte[]{0x41, 0x03, 0x00}, frames.get(0));
+        assertArrayEquals(new byte[]{0x10}, frames.get(1));
+    }
+
+    @Test
+    @DisplayName("SLIP frames decode escapes and skip empty packets")
+    void testSlip()
+    {
+        SlipFrameDecoder decoder = new SlipFrameDecoder();
+        byte[] stream = {(byte) 0xC0, 0x01, (byte) 0xDB, (byte) 0xDC, (byte) 0xDB, (byte) 0xDD, 0x00, (byte) 0xC0, (byte) 0xC0};
+        List<byte[]> frames = decodeInChunks(decoder, stream, 4);
+        assertEquals(1, frames.size());
+        assertArrayEquals(new byte[]{0x01, (byte) 0xC0, (byte) 0xDB, 0x00}, frames.getFirst());
+    }
+
+    @Test
+    @DisplayName("COBS frames restore embedded zeroes")
+    void testCobs()
+    {
+        CobsFrameDecoder decoder = new CobsFrameDecoder();
+        // 11 22 00 33 encodes to 03 11 22 02 33 00, and a lone 00 encodes to 01 01 00
+        byte[] stream = {0x03, 0x11, 0x22, 0x02, 0x33, 0x00, 0x01, 0x01, 0x00};
+        List<byte[]> frames = decodeInChunks(decoder, stream, 1);
+        assertEquals(2, frames.size());
+        assertArrayEquals(new byte[]{0x11, 0x22, 0x00, 0x33}, frames.get(0));
+        assertArrayEquals(new byte[]{0x00}, frames.get(1));
+    }
+
+    @Test
+    @DisplayName("Frames longer than the maximum are dropped without losing alignment")
+    void testOversizedFramesDropped()
+    {
+        StxEtxFrameDecoder decoder = new StxEtxFrameDecoder();
+        decoder.setMaxFrameLength(2);
+        byte[] stream = {0x02, 1, 2, 3, 0x03, 0x02, 4, 0x03};
+        List<byte[]> frames = decodeInChunks(decoder, stream, stream.length);
+        assertEquals(1, frames.size());
+        assertArrayEquals(new byte[]{4}, frames.getFirst());
+    }
+
+    private static List<byte[]> decodeInChunks(CerialFrameDecoder decoder, byte[] stream, int chunk)
+    {
+        List<byte[]> frames = new ArrayList<>();
+        for (int offset = 0; offset < stream.length; offset += chunk)
+        {
+            decoder.decode(stream, offset, Math.min(chunk, stream.length - offset), frames::add);
+        }
+        return frames;
+    }
+}
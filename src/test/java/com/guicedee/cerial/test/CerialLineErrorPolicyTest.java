@@ -0,0 +1,46 @@
+package com.guicedee.cerial.test;
+
+import com.guicedee.cerial.enumerations.LineErrorType;
+import com.guicedee.cerial.implementations.CerialLineErrorPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CerialLineErrorPolicyTest
+{
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    @DisplayName("Errors escalate only when the threshold is reached within the window")
+    void testSlidingWindow()
+    {
+        CerialLineErrorPolicy policy = new CerialLineErrorPolicy(3, 100 * MILLI);
+        assertFalse(policy.record(LineErrorType.Parity, 0));
+        assertFalse(policy.record(LineErrorType.Parity, 60 * MILLI));
+        // the first error has left the window by now
+        assertFalse(policy.record(LineErrorType.Parity, 150 * MILLI));
+        assertEquals(2, policy.getRecent(LineErrorType.Parity, 150 * MILLI));
+        assertTrue(policy.record(LineErrorType.Parity, 155 * MILLI));
+
+        // the window restarts after escalating
+        assertEquals(0, policy.getRecent(LineErrorType.Parity, 155 * MILLI));
+        assertFalse(policy.record(LineErrorType.Parity, 156 * MILLI));
+        assertEquals(5, policy.getTotal(LineErrorType.Parity));
+        assertEquals(1, policy.getEscalations(LineErrorType.Parity));
+    }
+
+    @Test
+    @DisplayName("Error types are counted separately and can have their own thresholds")
+    void testPerTypeThresholds()
+    {
+        CerialLineErrorPolicy policy = new CerialLineErrorPolicy(2, 100 * MILLI);
+        policy.setThreshold(LineErrorType.BreakInterrupt, 1);
+        assertFalse(policy.record(LineErrorType.Framing, 0));
+        assertFalse(policy.record(LineErrorType.Parity, 0));
+        assertTrue(policy.record(LineErrorType.BreakInterrupt, 0));
+        assertTrue(policy.record(LineErrorType.Framing, MILLI));
+        assertEquals(4, policy.getTotal());
+        assertThrows(IllegalArgumentException.class, () -> policy.setThreshold(LineErrorType.Parity, 0));
+    }
+}
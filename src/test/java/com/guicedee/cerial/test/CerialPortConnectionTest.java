@@ -4,6 +4,7 @@ import com.fazecast.jSerialComm.SerialPort;
 import com.google.inject.Key;
 import com.google.inject.name.Names;
 import com.guicedee.cerial.CerialPortConnection;
+import com.guicedee.cerial.implementations.CerialPortsBindings;
 import com.guicedee.client.IGuiceContext;
 import org.junit.jupiter.api.Test;
 
@@ -17,6 +18,11 @@ import org.junit.jupiter.api.Disabled;
 
 @Disabled("Requires real serial hardware; excluded from automated builds")
 class CerialPortConnectionTest {
+    static {
+        // ports looked up by Key, rather than named at an injection point, are bound when listed here
+        System.setProperty(CerialPortsBindings.PORTS_PROPERTY, "98,99");
+    }
+
     public static void main(String[] args) throws IOException, InterruptedException {
         new CerialPortConnectionTest().getSerialPort();
 
@@ -0,0 +1,33 @@
+package com.guicedee.cerial.test;
+
+import com.guicedee.cerial.CerialPortConnection;
+import com.guicedee.cerial.CerialPortFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CerialPortFactoryTest
+{
+    @Test
+    @DisplayName("Port numbers and the platform's device names resolve to the same port number")
+    void testPortNames()
+    {
+        String prefix = CerialPortConnection.devicePrefix();
+        assertEquals(5, CerialPortFactory.toPortNumber("5"));
+        assertEquals(5, CerialPortFactory.toPortNumber(prefix + "5"));
+        assertEquals(12, CerialPortFactory.toPortNumber(" " + prefix + "12 "));
+        assertEquals(1500, CerialPortFactory.toPortNumber("1500"));
+    }
+
+    @Test
+    @DisplayName("Other device names are rejected rather than aliased to a numbered port")
+    void testInvalidNames()
+    {
+        assertThrows(IllegalArgumentException.class, () -> CerialPortFactory.toPortNumber(CerialPortConnection.devicePrefix()));
+        assertThrows(IllegalArgumentException.class, () -> CerialPortFactory.toPortNumber("/dev/ttyS0"));
+        assertThrows(IllegalArgumentException.class, () -> CerialPortFactory.toPortNumber("/dev/ttyACM0"));
+        assertThrows(IllegalArgumentException.class, () -> CerialPortFactory.toPortNumber(null));
+        assertThrows(IllegalArgumentException.class, () -> CerialPortFactory.toPortNumber("99999999999"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.guicedee.cerial.test;
+
+import com.google.inject.Binding;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import com.google.inject.spi.Elements;
+import com.guicedee.cerial.CerialPortConnection;
+import com.guicedee.cerial.implementations.CerialPortsBindings;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ScanResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CerialPortsBindingsTest
+{
+    static class Injected
+    {
+        @Inject
+        @Named("42")
+        private CerialPortConnection<?> port;
+
+        @Inject
+        @Named("label")
+        private String label;
+
+        @Inject
+        Injected(@Named("42") CerialPortConnection<?> samePort)
+        {
+        }
+    }
+
+    @Test
+    @DisplayName("A scanned @Named port injection point produces exactly one binding")
+    void testScannedNamedPort()
+    {
+        System.clearProperty(CerialPortsBindings.PORTS_PROPERTY);
+        try (ScanResult scan = new ClassGraph().enableClassInfo()
+                                               .enableAnnotationInfo()
+                                               .enableFieldInfo()
+                                               .enableMethodInfo()
+                                               .ignoreFieldVisibility()
+                                               .ignoreMethodVisibility()
+                                               .acceptClasses(Injected.class.getName())
+                                               .scan())
+        {
+            List<Binding<?>> ports = Elements.getElements(new CerialPortsBindings(scan))
+                                             .stream()
+                                             .filter(Binding.class::isInstance)
+                                             .<Binding<?>>map(Binding.class::cast)
+                                             .filter(binding -> binding.getKey()
+                                                                       .getTypeLiteral()
+                                                                       .getRawType() == CerialPortConnection.class)
+                                             .toList();
+            assertEquals(1, ports.size());
+            assertEquals(Names.named("42"), ports.get(0)
+                                                 .getKey()
+                                                 .getAnnotation());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.guicedee.cerial.test;
+
+import com.guicedee.cerial.implementations.CerialStreamMatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CerialStreamMatcherTest
+{
+    @Test
+    @DisplayName("Streaming frames agree with Matcher.find() evaluated after every byte")
+    void testAgreesWithRegexPerByte()
+    {
+        String[] patterns = {
+                "STX\\d+ETX",
+                "\\$[A-Z]{5},[^*]*\\*[0-9A-F]{2}",
+                "(?:ab|c)+d",
+                "a.c",
+                "[\\x02][^\\x03]*[\\x03]",
+                "abcd|c",
+                "x{2,3}y?z"
+        };
+        String input = "noise STX12ETX $GPGGA,1,2*4F abcabd cd a\nc abc \u0002payload\u0003 abcd xxxz xxyz";
+        for (String regex : patterns)
+        {
+            CerialStreamMatcher matcher = CerialStreamMatcher.compile(regex);
+            assertEquals(regexFrames(Pattern.compile(regex), input), streamFrames(matcher, input), "Pattern " + regex);
+        }
+    }
+
+    @Test
+    @DisplayName("Unsupported constructs are rejected so callers can fall back to java.util.regex")
+    void testUnsupportedPatterns()
+    {
+        assertNull(CerialStreamMatcher.tryCompile(Pattern.compile("^abc")));
+        assertNull(CerialStreamMatcher.tryCompile(Pattern.compile("(a)\\1")));
+        assertNull(CerialStreamMatcher.tryCompile(Pattern.compile("a(?=b)")));
+        assertNull(CerialStreamMatcher.tryCompile(Pattern.compile("abc", Pattern.CASE_INSENSITIVE)));
+        assertNotNull(CerialStreamMatcher.tryCompile(Pattern.compile("[A-Za-z_]\\w*;")));
+    }
+
+    @Test
+    @DisplayName("Match state carries across chunks and large frames")
+    void testLargeFrameAcrossChunks()
+    {
+        CerialStreamMatcher matcher = CerialStreamMatcher.compile("<[^>]*>");
+        byte[] frame = ("<" + "x".repeat(1022) + ">").getBytes(StandardCharsets.US_ASCII);
+        int matches = 0;
+        for (int round = 0; round < 50; round++)
+        {
+            for (byte b : frame)
+            {
+                if (matcher.feed(b))
+                {
+                    matches++;
+                    assertEquals(frame.length, matcher.getMatchLength());
+                }
+            }
+        }
+        assertEquals(50, matches);
+    }
+
+    private static List<String> streamFrames(CerialStreamMatcher matcher, String input)
+    {
+        List<String> frames = new ArrayList<>();
+        byte[] bytes = input.getBytes(StandardCharsets.ISO_8859_1);
+        for (int i = 0; i < bytes.length; i++)
+        {
+            if (matcher.feed(bytes[i]))
+            {
+                int length = (int) matcher.getMatchLength();
+                frames.add(new String(bytes, i + 1 - length, length, StandardCharsets.ISO_8859_1));
+            }
+        }
+        return frames;
+    }
+
+    private static List<String> regexFrames(Pattern pattern, String input)
+    {
+        List<String> frames = new ArrayList<>();
+        StringBuilder buffer = new StringBuilder();
+        for (char c : input.toCharArray())
+        {
+            buffer.append(c);
+            Matcher matcher = pattern.matcher(buffer);
+            if (matcher.find() && matcher.end() > matcher.start())
+            {
+                frames.add(matcher.group());
+                buffer.delete(0, matcher.end());
+            }
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,53 @@
+package com.guicedee.cerial.test;
+
+import com.guicedee.cerial.implementations.CerialTimingWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CerialTimingWheelTest
+{
+    @Test
+    @DisplayName("Timeouts fire once, no earlier than their deadline, including past a full wheel rotation")
+    void testTimeoutsFireAfterDeadline() throws Exception
+    {
+        CerialTimingWheel wheel = new CerialTimingWheel("test-wheel", TimeUnit.MILLISECONDS.toNanos(1), 16);
+        long[] delaysMillis = {0, 1, 5, 15, 16, 17, 40};
+        CountDownLatch latch = new CountDownLatch(delaysMillis.length);
+        ConcurrentHashMap<Long, Long> lateness = new ConcurrentHashMap<>();
+        for (long delay : delaysMillis)
+        {
+            long scheduledAt = System.nanoTime();
+            wheel.schedule(() -> {
+                assertNull(lateness.put(delay, System.nanoTime() - scheduledAt - TimeUnit.MILLISECONDS.toNanos(delay)));
+                latch.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (long delay : delaysMillis)
+        {
+            assertTrue(lateness.get(delay) >= 0, "Timeout of " + delay + "ms fired early");
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelled timeouts never run and the wheel keeps serving new ones")
+    void testCancel() throws Exception
+    {
+        CerialTimingWheel wheel = new CerialTimingWheel("test-wheel", TimeUnit.MILLISECONDS.toNanos(1), 8);
+        AtomicBoolean ran = new AtomicBoolean();
+        CerialTimingWheel.Timeout timeout = wheel.schedule(() -> ran.set(true), 20, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+
+        CountDownLatch later = new CountDownLatch(1);
+        wheel.schedule(later::countDown, 40, TimeUnit.MILLISECONDS);
+        assertTrue(later.await(5, TimeUnit.SECONDS));
+        assertFalse(ran.get());
+    }
+}
@@ -0,0 +1,40 @@
+package com.guicedee.cerial.test;
+
+import com.guicedee.cerial.implementations.CerialTokenBucket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CerialTokenBucketTest
+{
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    @DisplayName("Bursts up to capacity go out at once, then bytes are spaced at the configured rate")
+    void testBurstThenLineRate()
+    {
+        // 1000 bytes per second: one byte per millisecond
+        CerialTokenBucket bucket = new CerialTokenBucket(1000, 16, 0);
+        assertEquals(0, bucket.reserve(16, 0));
+        assertEquals(MILLI, bucket.reserve(1, 0));
+        assertEquals(16 * MILLI, bucket.reserve(15, 0));
+
+        // after a long idle period the credit is capped at the capacity
+        long later = 10_000 * MILLI;
+        assertEquals(0, bucket.reserve(16, later));
+        assertEquals(4 * MILLI, bucket.reserve(4, later));
+    }
+
+    @Test
+    @DisplayName("An inter-frame gap starts once the bytes already sent have drained")
+    void testInterFrameGap()
+    {
+        CerialTokenBucket bucket = new CerialTokenBucket(1000, 16, 0);
+        assertEquals(0, bucket.reserve(10, 0));
+        bucket.pause(5 * MILLI, 0);
+        // 10 bytes still draining (10ms) plus the 5ms gap
+        assertEquals(15 * MILLI, bucket.reserve(16, 0));
+        assertEquals(MILLI, bucket.reserve(1, 15 * MILLI));
+    }
+}
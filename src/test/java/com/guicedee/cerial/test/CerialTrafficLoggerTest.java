@@ -0,0 +1,27 @@
+package com.guicedee.cerial.test;
+
+import com.guicedee.cerial.implementations.CerialTrafficLogger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CerialTrafficLoggerTest
+{
+    @Test
+    @DisplayName("Printable ASCII messages are logged as trimmed text")
+    void testTextMessages()
+    {
+        assertEquals("READ 1", CerialTrafficLogger.format("READ 1\r\n".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals("", CerialTrafficLogger.format(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Binary messages are logged as hex with an ASCII column")
+    void testBinaryMessages()
+    {
+        assertEquals("02 41 42 03 FF |.AB..|", CerialTrafficLogger.format(new byte[]{0x02, 'A', 'B', 0x03, (byte) 0xFF}));
+    }
+}